@@ -1,8 +1,12 @@
 package backend.academy.bot;
 
 import backend.academy.bot.config.BotConfig;
+import backend.academy.bot.config.ConversationProperties;
+import backend.academy.bot.config.LinkCacheProperties;
 import backend.academy.bot.config.RateLimitingProperties;
 import backend.academy.bot.config.RetryProperties;
+import backend.academy.bot.config.ScrapperClientProperties;
+import backend.academy.bot.config.TelegramProperties;
 import com.pengrad.telegrambot.TelegramBot;
 import com.pengrad.telegrambot.model.BotCommand;
 import com.pengrad.telegrambot.request.SetMyCommands;
@@ -18,7 +22,15 @@ import org.springframework.stereotype.Component;
 
 @SpringBootApplication
 @EnableAspectJAutoProxy
-@EnableConfigurationProperties({BotConfig.class, RateLimitingProperties.class, RetryProperties.class})
+@EnableConfigurationProperties({
+    BotConfig.class,
+    ConversationProperties.class,
+    LinkCacheProperties.class,
+    RateLimitingProperties.class,
+    RetryProperties.class,
+    ScrapperClientProperties.class,
+    TelegramProperties.class
+})
 @EnableCaching
 public class BotApplication {
     public static void main(String[] args) {
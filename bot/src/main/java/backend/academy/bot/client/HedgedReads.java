@@ -0,0 +1,95 @@
+package backend.academy.bot.client;
+
+import backend.academy.bot.config.ScrapperClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * Дублирующие запросы для идемпотентных чтений.
+ *
+ * <p>Задержка каждой операции измеряется таймером с клиентским перцентилем. Если ответ не пришел за время этого
+ * перцентиля, отправляется второй такой же запрос, и используется ответ, пришедший первым; оставшийся запрос
+ * отменяется. Так медленная реплика скраппера не задерживает ответ пользователю, а дополнительная нагрузка ограничена
+ * долей самых медленных запросов.
+ *
+ * <p>Ошибка одного из запросов не отменяет другой: вызывающий получает ошибку, только если не удались оба, и это
+ * ошибка основного запроса.
+ */
+final class HedgedReads {
+
+    private final ScrapperClientProperties.Hedging properties;
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter hedgedCounter;
+
+    HedgedReads(ScrapperClientProperties.Hedging properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.hedgedCounter = Counter.builder("scrapper.client.hedged")
+                .description("Дублирующие запросы чтения к скрапперу")
+                .register(registry);
+    }
+
+    <T> Mono<T> read(String operation, Supplier<Mono<T>> request) {
+        Timer timer = timers.computeIfAbsent(operation, this::timer);
+        Mono<T> timed = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.get().doOnSuccess(ignored -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+
+        Duration delay = hedgeDelay(timer);
+        if (delay == null) {
+            return timed;
+        }
+        // пустой ответ тоже считается ответом, иначе firstWithValue стал бы ждать второй запрос
+        Mono<Optional<T>> attempt = timed.map(Optional::of).defaultIfEmpty(Optional.empty());
+        Mono<Optional<T>> hedge = Mono.delay(delay).doOnNext(ignored -> hedgedCounter.increment()).then(attempt);
+        return Mono.firstWithValue(attempt, hedge)
+                .onErrorMap(HedgedReads::primaryError)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /** {@link Mono#firstWithValue} оборачивает ошибки всех источников; наружу отдается исходная ошибка основного. */
+    private static Throwable primaryError(Throwable error) {
+        if (error instanceof NoSuchElementException && error.getCause() != null) {
+            List<Throwable> errors = Exceptions.unwrapMultiple(error.getCause());
+            if (!errors.isEmpty()) {
+                return errors.getFirst();
+            }
+        }
+        return error;
+    }
+
+    private Duration hedgeDelay(Timer timer) {
+        if (!properties.enabled() || timer.count() < properties.minSamples()) {
+            return null;
+        }
+        ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+        if (percentiles.length == 0) {
+            return null;
+        }
+        long nanos = (long) percentiles[0].value(TimeUnit.NANOSECONDS);
+        return Duration.ofNanos(
+                Math.clamp(nanos, properties.minDelay().toNanos(), properties.maxDelay().toNanos()));
+    }
+
+    private Timer timer(String operation) {
+        return Timer.builder("scrapper.client.read")
+                .tag("operation", operation)
+                .publishPercentiles(properties.percentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(registry);
+    }
+}
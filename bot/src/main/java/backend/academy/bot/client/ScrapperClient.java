@@ -1,6 +1,9 @@
 package backend.academy.bot.client;
 
+import backend.academy.bot.client.dto.LinkMutation;
+import backend.academy.bot.client.dto.VersionedLinks;
 import backend.academy.bot.config.BotConfig;
+import backend.academy.bot.config.ScrapperClientProperties;
 import backend.academy.dto.request.AddLinkRequest;
 import backend.academy.dto.request.RemoveLinkRequest;
 import backend.academy.dto.response.LinkResponse;
@@ -9,103 +12,190 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Component
 public class ScrapperClient {
     private static final Logger logger = LoggerFactory.getLogger(ScrapperClient.class);
+    private static final String LINKS_VERSION_HEADER = "Links-Version";
     private final WebClient webClient;
     private final Retry retry;
     private final BotConfig botConfig;
+    private final HedgedReads hedgedReads;
+    private final ScrapperRpcClient rpcClient;
 
     public ScrapperClient(
             WebClient.Builder webClientBuilder,
             BotConfig botConfig,
-            io.github.resilience4j.retry.RetryRegistry retryRegistry) {
-        this.webClient = webClientBuilder.baseUrl(botConfig.scrapperUrl()).build();
+            ScrapperClientProperties properties,
+            io.github.resilience4j.retry.RetryRegistry retryRegistry,
+            MeterRegistry meterRegistry,
+            ObjectProvider<ScrapperRpcClient> rpcClient) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("scrapper")
+                .maxConnections(properties.maxConnections())
+                .maxIdleTime(properties.maxIdleTime())
+                .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+                .evictInBackground(properties.maxIdleTime())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(
+                        properties.h2c()
+                                ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}
+                                : new HttpProtocol[] {HttpProtocol.HTTP11})
+                .keepAlive(true)
+                .responseTimeout(botConfig.timeout());
+
+        this.webClient = webClientBuilder
+                .clone()
+                .baseUrl(botConfig.scrapperUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
         this.retry = retryRegistry.retry("scrapperClient");
         this.botConfig = botConfig;
+        this.hedgedReads = new HedgedReads(properties.hedging(), meterRegistry);
+        // бинарный канал создается только при scrapper-client.transport: RPC
+        this.rpcClient = rpcClient.getIfAvailable();
     }
 
     @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackVoid")
     public Mono<Void> registerChat(Long chatId) {
-        return webClient
-                .post()
-                .uri("/Tg-Chat-Id/{id}", chatId)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .transformDeferred(RetryOperator.of(retry))
+        Mono<Void> request = rpcClient != null
+                ? rpcClient.registerChat(chatId)
+                : webClient
+                        .post()
+                        .uri("/Tg-Chat-Id/{id}", chatId)
+                        .retrieve()
+                        .bodyToMono(Void.class);
+        return request.transformDeferred(RetryOperator.of(retry))
                 .timeout(botConfig.timeout())
                 .doOnSubscribe(s -> logger.info("Регистрация чата chatId: {}", chatId));
     }
 
-    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackLinkResponse")
-    public Mono<LinkResponse> addLink(Long chatId, LinkResponse link) {
-        return webClient
-                .post()
-                .uri("/links")
-                .header("Tg-Chat-Id", chatId.toString())
-                .bodyValue(new AddLinkRequest(link.url(), link.tags(), link.filters()))
-                .retrieve()
-                .bodyToMono(LinkResponse.class)
-                .transformDeferred(RetryOperator.of(retry))
+    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackAddLink")
+    public Mono<LinkMutation> addLink(Long chatId, LinkResponse link) {
+        Mono<LinkMutation> request = rpcClient != null
+                ? rpcClient.addLink(chatId, link)
+                : webClient
+                        .post()
+                        .uri("/links")
+                        .header("Tg-Chat-Id", chatId.toString())
+                        .bodyValue(new AddLinkRequest(link.url(), link.tags(), link.filters()))
+                        .retrieve()
+                        .toEntity(LinkResponse.class)
+                        .map(entity -> LinkMutation.added(entity.getBody(), linksVersion(entity.getHeaders())));
+        return request.transformDeferred(RetryOperator.of(retry))
                 .timeout(botConfig.timeout())
                 .doOnSubscribe(s -> logger.info("Добавление ссылки chatId: {}, url: {}", chatId, link.url()));
     }
 
-    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackVoid")
-    public Mono<Void> removeLink(Long chatId, URI urlToRemove) {
-        RemoveLinkRequest request = new RemoveLinkRequest(urlToRemove);
-
-        return webClient
-                .method(HttpMethod.DELETE)
-                .uri("/links")
-                .header("Tg-Chat-Id", chatId.toString())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .transformDeferred(RetryOperator.of(retry))
+    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackRemoveLink")
+    public Mono<LinkMutation> removeLink(Long chatId, URI urlToRemove) {
+        Mono<LinkMutation> request = rpcClient != null
+                ? rpcClient.removeLink(chatId, urlToRemove)
+                : webClient
+                        .method(HttpMethod.DELETE)
+                        .uri("/links")
+                        .header("Tg-Chat-Id", chatId.toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new RemoveLinkRequest(urlToRemove))
+                        .retrieve()
+                        .toBodilessEntity()
+                        .map(entity -> LinkMutation.removed(urlToRemove, linksVersion(entity.getHeaders())));
+        return request.transformDeferred(RetryOperator.of(retry))
                 .timeout(botConfig.timeout())
                 .doOnSubscribe(s -> logger.info("Удаление ссылки chatId: {}, url: {}", chatId, urlToRemove))
                 .doOnError(e -> logger.error("Ошибка при удалении ссылки chatId: {}, url: {}", chatId, urlToRemove, e));
     }
 
+    /**
+     * Загружает список ссылок чата. По HTTP список читается потоком NDJSON, без разбора одного большого документа.
+     *
+     * @param chatId Идентификатор чата.
+     * @return Mono<VersionedLinks> Ссылки чата и версия списка.
+     */
     @TimeLimiter(name = "scrapperClient")
     @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackLinkList")
-    public Mono<List<LinkResponse>> getLinks(Long chatId) {
-        return webClient
-                .get()
-                .uri("/links")
-                .header("Tg-Chat-Id", chatId.toString())
-                .retrieve()
-                .bodyToMono(ListLinksResponse.class)
-                .map(ListLinksResponse::links)
-                .defaultIfEmpty(Collections.emptyList())
+    public Mono<VersionedLinks> getLinks(Long chatId) {
+        return hedgedReads
+                .read("getLinks", () -> rpcClient != null ? rpcClient.getLinks(chatId) : streamLinks(chatId, null))
                 .transformDeferred(RetryOperator.of(retry))
                 .timeout(botConfig.timeout())
                 .doOnSubscribe(s -> logger.info("Получение списка ссылок chatId: {}", chatId));
     }
 
-    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackStringSet")
-    public Mono<Set<String>> getAllTags(Long chatId) {
+    /**
+     * Проверяет, не изменился ли закэшированный список ссылок чата, условным запросом с If-None-Match.
+     *
+     * @param chatId Идентификатор чата.
+     * @param cached Закэшированный список с версией.
+     * @return Mono<VersionedLinks> Тот же {@code cached}, если скраппер ответил 304, иначе новый список.
+     */
+    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackRevalidateLinks")
+    public Mono<VersionedLinks> revalidateLinks(Long chatId, VersionedLinks cached) {
+        return hedgedReads
+                .read("revalidateLinks", () -> rpcClient != null
+                        ? rpcClient.getLinks(chatId)
+                        : streamLinks(chatId, cached))
+                .transformDeferred(RetryOperator.of(retry))
+                .timeout(botConfig.timeout())
+                .doOnSubscribe(s -> logger.debug("Проверка актуальности списка ссылок chatId: {}", chatId));
+    }
+
+    private Mono<VersionedLinks> streamLinks(Long chatId, VersionedLinks cached) {
         return webClient
                 .get()
-                .uri("/tags")
+                .uri("/links/stream")
                 .header("Tg-Chat-Id", chatId.toString())
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Set<String>>() {})
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(headers -> {
+                    if (cached != null && cached.version() != null) {
+                        headers.setIfNoneMatch("\"" + cached.version() + "\"");
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        return Mono.just(cached);
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    Long version = linksVersion(response.headers().asHttpHeaders());
+                    return response.bodyToFlux(LinkResponse.class)
+                            .collectList()
+                            .map(links -> new VersionedLinks(version, links));
+                });
+    }
+
+    @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackStringSet")
+    public Mono<Set<String>> getAllTags(Long chatId) {
+        return hedgedReads
+                .read("getAllTags", () -> rpcClient != null
+                        ? rpcClient.getAllTags(chatId)
+                        : webClient
+                                .get()
+                                .uri("/tags")
+                                .header("Tg-Chat-Id", chatId.toString())
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<Set<String>>() {}))
                 .defaultIfEmpty(Collections.emptySet())
                 .transformDeferred(RetryOperator.of(retry))
                 .timeout(botConfig.timeout())
@@ -114,22 +204,34 @@ public class ScrapperClient {
 
     @CircuitBreaker(name = "scrapperClient", fallbackMethod = "fallbackLinkListWithTags")
     public Mono<List<LinkResponse>> getLinksByTags(Long chatId, Set<String> tags) {
-        return webClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/links/tags")
-                        .queryParam("tags", tags.toArray())
-                        .build())
-                .header("Tg-Chat-Id", chatId.toString())
-                .retrieve()
-                .bodyToMono(ListLinksResponse.class)
-                .map(ListLinksResponse::links)
+        return hedgedReads
+                .read("getLinksByTags", () -> rpcClient != null
+                        ? rpcClient.getLinksByTags(chatId, tags)
+                        : webClient
+                                .get()
+                                .uri(uriBuilder -> uriBuilder
+                                        .path("/links/tags")
+                                        .queryParam("tags", tags.toArray())
+                                        .build())
+                                .header("Tg-Chat-Id", chatId.toString())
+                                .retrieve()
+                                .bodyToMono(ListLinksResponse.class)
+                                .map(ListLinksResponse::links))
                 .defaultIfEmpty(Collections.emptyList())
                 .transformDeferred(RetryOperator.of(retry))
                 .timeout(botConfig.timeout())
                 .doOnSubscribe(s -> logger.info("Получение ссылок по тегам chatId: {}, tags: {}", chatId, tags));
     }
 
+    private static Long linksVersion(HttpHeaders headers) {
+        String version = headers.getFirst(LINKS_VERSION_HEADER);
+        try {
+            return version != null ? Long.valueOf(version) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     // Fallback-методы
 
     @SuppressWarnings("unused")
@@ -140,15 +242,28 @@ public class ScrapperClient {
     }
 
     @SuppressWarnings("unused")
-    private Mono<LinkResponse> fallbackLinkResponse(Long chatId, LinkResponse link, Throwable throwable) {
+    private Mono<LinkMutation> fallbackRemoveLink(Long chatId, URI urlToRemove, Throwable throwable) {
+        logger.warn(
+                "Fallback for removeLink chatId: {}, url: {}, error: {}", chatId, urlToRemove, throwable.getMessage());
+        return Mono.empty();
+    }
+
+    @SuppressWarnings("unused")
+    private Mono<LinkMutation> fallbackAddLink(Long chatId, LinkResponse link, Throwable throwable) {
         logger.warn("Fallback for addLink chatId: {}, url: {}, error: {}", chatId, link.url(), throwable.getMessage());
         return Mono.error(throwable);
     }
 
     @SuppressWarnings("unused")
-    private Mono<List<LinkResponse>> fallbackLinkList(Long chatId, Throwable throwable) {
+    private Mono<VersionedLinks> fallbackLinkList(Long chatId, Throwable throwable) {
         logger.warn("Fallback for getLinks chatId: {}, error: {}", chatId, throwable.getMessage());
-        return Mono.just(Collections.emptyList());
+        return Mono.just(new VersionedLinks(null, Collections.emptyList()));
+    }
+
+    @SuppressWarnings("unused")
+    private Mono<VersionedLinks> fallbackRevalidateLinks(Long chatId, VersionedLinks cached, Throwable throwable) {
+        logger.warn("Fallback for revalidateLinks chatId: {}, error: {}", chatId, throwable.getMessage());
+        return Mono.just(cached);
     }
 
     @SuppressWarnings("unused")
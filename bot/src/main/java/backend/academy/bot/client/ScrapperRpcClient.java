@@ -0,0 +1,197 @@
+package backend.academy.bot.client;
+
+import backend.academy.bot.client.dto.LinkMutation;
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.bot.config.ScrapperClientProperties;
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.dto.rpc.RpcCodec;
+import backend.academy.dto.rpc.RpcFrame;
+import backend.academy.dto.rpc.RpcRequest;
+import backend.academy.dto.rpc.RpcResponse;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.Connection;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * Клиент бинарного RPC-канала скраппера.
+ *
+ * <p>Все вызовы идут через одно TCP-соединение: каждому вызову назначается идентификатор, по которому ответ находит
+ * ожидающего, поэтому медленный вызов не задерживает остальные. Соединение устанавливается при первом вызове и
+ * переустанавливается после обрыва; вызовы, ожидавшие ответа в оборванном соединении, завершаются повторяемой ошибкой.
+ * Некорректный кадр ответа считается порчей потока: соединение закрывается с тем же результатом.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "scrapper-client.transport", havingValue = "RPC")
+public class ScrapperRpcClient {
+
+    private final TcpClient tcpClient;
+    private final AtomicInteger streamIds = new AtomicInteger();
+    private final AtomicReference<Mono<RpcConnection>> connection = new AtomicReference<>();
+
+    public ScrapperRpcClient(ScrapperClientProperties properties) {
+        this.tcpClient = TcpClient.create()
+                .host(properties.rpc().host())
+                .port(properties.rpc().port())
+                .doOnConnected(conn -> conn.addHandlerLast(new LengthFieldBasedFrameDecoder(
+                                RpcCodec.MAX_FRAME_SIZE,
+                                0,
+                                RpcCodec.LENGTH_FIELD_SIZE,
+                                0,
+                                RpcCodec.LENGTH_FIELD_SIZE))
+                        .addHandlerLast(new LengthFieldPrepender(RpcCodec.LENGTH_FIELD_SIZE)));
+    }
+
+    @PreDestroy
+    public void close() {
+        Mono<RpcConnection> current = connection.getAndSet(null);
+        if (current != null) {
+            current.subscribe(rpc -> rpc.connection().dispose(), error -> {});
+        }
+    }
+
+    public Mono<Void> registerChat(Long chatId) {
+        return call(new RpcRequest.RegisterChat(chatId)).then();
+    }
+
+    public Mono<LinkMutation> addLink(Long chatId, LinkResponse link) {
+        return call(new RpcRequest.AddLink(chatId, link.url(), link.tags(), link.filters()))
+                .cast(RpcResponse.Link.class)
+                .map(response -> LinkMutation.added(response.link(), version(response.version())));
+    }
+
+    public Mono<LinkMutation> removeLink(Long chatId, URI url) {
+        return call(new RpcRequest.RemoveLink(chatId, url))
+                .cast(RpcResponse.Done.class)
+                .map(response -> LinkMutation.removed(url, version(response.version())));
+    }
+
+    public Mono<VersionedLinks> getLinks(Long chatId) {
+        return call(new RpcRequest.GetLinks(chatId))
+                .cast(RpcResponse.Links.class)
+                .map(response -> new VersionedLinks(version(response.version()), response.links()));
+    }
+
+    public Mono<Set<String>> getAllTags(Long chatId) {
+        return call(new RpcRequest.GetTags(chatId))
+                .cast(RpcResponse.Tags.class)
+                .map(RpcResponse.Tags::tags);
+    }
+
+    public Mono<List<LinkResponse>> getLinksByTags(Long chatId, Set<String> tags) {
+        return call(new RpcRequest.GetLinksByTags(chatId, tags))
+                .cast(RpcResponse.Links.class)
+                .map(RpcResponse.Links::links);
+    }
+
+    private static Long version(long version) {
+        return version == RpcResponse.NO_VERSION ? null : version;
+    }
+
+    /** Отправляет запрос; повторная подписка (retry, hedging) отправляет его заново с новым идентификатором. */
+    private Mono<RpcResponse> call(RpcRequest request) {
+        return Mono.defer(() -> connection().flatMap(rpc -> {
+                    int streamId = streamIds.incrementAndGet();
+                    Sinks.One<RpcResponse> response = Sinks.one();
+                    rpc.pending().put(streamId, response);
+                    byte[] frame = RpcCodec.encodeRequest(streamId, request);
+                    return Mono.<Void>create(sink -> rpc.connection()
+                                    .channel()
+                                    .writeAndFlush(Unpooled.wrappedBuffer(frame))
+                                    .addListener(future -> {
+                                        if (future.isSuccess()) {
+                                            sink.success();
+                                        } else {
+                                            sink.error(
+                                                    new ScrapperRpcException("RPC request not sent", future.cause()));
+                                        }
+                                    }))
+                            .then(response.asMono())
+                            .doFinally(signal -> rpc.pending().remove(streamId));
+                }))
+                .flatMap(response -> response instanceof RpcResponse.Failure failure
+                        ? Mono.error(new ScrapperRpcException(failure.type() + ": " + failure.message(), false))
+                        : Mono.just(response));
+    }
+
+    private Mono<RpcConnection> connection() {
+        Mono<RpcConnection> current = connection.get();
+        if (current != null) {
+            return current;
+        }
+        // подключение начинается только при подписке, когда ссылка на собственный Mono уже записана
+        AtomicReference<Mono<RpcConnection>> self = new AtomicReference<>();
+        Mono<RpcConnection> created = tcpClient
+                .connect()
+                .map(conn -> open(conn, self.get()))
+                .onErrorMap(error -> new ScrapperRpcException("RPC connection failed", error))
+                .doOnError(error -> {
+                    log.warn("Scrapper RPC connection failed: {}", error.getCause().getMessage());
+                    connection.compareAndSet(self.get(), null);
+                })
+                .cache();
+        self.set(created);
+        return connection.compareAndSet(null, created) ? created : connection();
+    }
+
+    private RpcConnection open(Connection conn, Mono<RpcConnection> own) {
+        log.info("Scrapper RPC connection established: {}", conn.channel().remoteAddress());
+        RpcConnection rpc = new RpcConnection(conn, new ConcurrentHashMap<>());
+        conn.inbound()
+                .receive()
+                .asByteArray()
+                .map(RpcCodec::decodeResponse)
+                .subscribe(rpc::complete, error -> {
+                    log.warn("Scrapper RPC response stream failed, reconnecting", error);
+                    tearDown(rpc, own);
+                    conn.dispose();
+                });
+        conn.onDispose(() -> {
+            log.warn("Scrapper RPC connection closed");
+            tearDown(rpc, own);
+        });
+        return rpc;
+    }
+
+    /**
+     * Завершает вызовы, ожидавшие ответа в этом соединении, повторяемой ошибкой. Ссылка на соединение сбрасывается,
+     * только если она еще указывает на него: поздний колбэк старого соединения не должен закрыть уже установленное
+     * новое.
+     */
+    private void tearDown(RpcConnection rpc, Mono<RpcConnection> own) {
+        connection.compareAndSet(own, null);
+        rpc.failPending();
+    }
+
+    /** Соединение со скраппером и вызовы, ожидающие ответа именно в нем. */
+    private record RpcConnection(Connection connection, Map<Integer, Sinks.One<RpcResponse>> pending) {
+
+        void complete(RpcFrame<RpcResponse> frame) {
+            Sinks.One<RpcResponse> response = pending.remove(frame.streamId());
+            if (response != null) {
+                response.tryEmitValue(frame.message());
+            }
+        }
+
+        void failPending() {
+            ScrapperRpcException closed = new ScrapperRpcException("RPC connection closed", true);
+            pending.values().forEach(response -> response.tryEmitError(closed));
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package backend.academy.bot.client;
+
+import lombok.Getter;
+
+/**
+ * Ошибка вызова скраппера через бинарный RPC-канал.
+ *
+ * <p>{@code retryable} выставляется, если соединение оборвалось до получения ответа; ошибки обработки запроса
+ * скраппером, как и ответы 4xx в HTTP, не повторяются.
+ */
+@Getter
+public class ScrapperRpcException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public ScrapperRpcException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public ScrapperRpcException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryable = true;
+    }
+}
@@ -0,0 +1,71 @@
+package backend.academy.bot.client;
+
+import backend.academy.bot.client.dto.telegram.SendMessageBody;
+import backend.academy.bot.client.dto.telegram.TelegramApiResponse;
+import backend.academy.bot.config.BotConfig;
+import backend.academy.bot.config.TelegramProperties;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Неблокирующий клиент Telegram Bot API поверх WebClient.
+ *
+ * <p>Соединения берутся из собственного пула и переиспользуются между запросами. Ответы с ошибкой (в том числе 429)
+ * не превращаются в исключение, а возвращаются как {@link TelegramApiResponse}, чтобы вызывающий код мог учесть
+ * {@code retry_after}.
+ */
+@Component
+public class TelegramClient {
+
+    private final WebClient webClient;
+    private final String token;
+    private final TelegramProperties.Api properties;
+
+    public TelegramClient(
+            WebClient.Builder webClientBuilder, BotConfig botConfig, TelegramProperties telegramProperties) {
+        this.properties = telegramProperties.api();
+        this.token = botConfig.telegramToken();
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("telegram")
+                .maxConnections(properties.maxConnections())
+                .maxIdleTime(properties.maxIdleTime())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .responseTimeout(properties.timeout());
+
+        this.webClient = webClientBuilder
+                .clone()
+                .baseUrl(properties.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Отправляет текстовое сообщение в чат.
+     *
+     * @param chatId Идентификатор чата получателя.
+     * @param text Текст сообщения.
+     * @return Mono с ответом Telegram; ошибкой завершается только при сетевом сбое или нечитаемом ответе.
+     */
+    public Mono<TelegramApiResponse> sendMessage(Long chatId, String text) {
+        return webClient
+                .post()
+                .uri("/bot{token}/sendMessage", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new SendMessageBody(chatId, text))
+                .exchangeToMono(response -> response.bodyToMono(TelegramApiResponse.class)
+                        .defaultIfEmpty(new TelegramApiResponse(
+                                response.statusCode().is2xxSuccessful(),
+                                response.statusCode().value(),
+                                null,
+                                null)))
+                .timeout(properties.timeout());
+    }
+}
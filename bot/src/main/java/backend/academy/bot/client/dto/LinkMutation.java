@@ -0,0 +1,25 @@
+package backend.academy.bot.client.dto;
+
+import backend.academy.dto.response.LinkResponse;
+import java.net.URI;
+
+/**
+ * Результат изменения списка ссылок чата в скраппере.
+ *
+ * @param added Добавленная ссылка, если ссылка добавлялась.
+ * @param removedUrl URL удаленной ссылки, если ссылка удалялась.
+ * @param version Версия списка после изменения; {@code null}, если она неизвестна.
+ */
+public record LinkMutation(LinkResponse added, URI removedUrl, Long version) {
+
+    /** Изменение, результат которого неизвестен (например, сработал fallback). */
+    public static final LinkMutation UNKNOWN = new LinkMutation(null, null, null);
+
+    public static LinkMutation added(LinkResponse link, Long version) {
+        return new LinkMutation(link, null, version);
+    }
+
+    public static LinkMutation removed(URI url, Long version) {
+        return new LinkMutation(null, url, version);
+    }
+}
@@ -0,0 +1,12 @@
+package backend.academy.bot.client.dto;
+
+import backend.academy.dto.response.LinkResponse;
+import java.util.List;
+
+/**
+ * Список ссылок чата вместе с его версией в скраппере.
+ *
+ * @param version Версия списка; {@code null}, если скраппер ее не сообщил.
+ * @param links Ссылки чата.
+ */
+public record VersionedLinks(Long version, List<LinkResponse> links) {}
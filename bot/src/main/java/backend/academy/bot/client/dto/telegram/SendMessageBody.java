@@ -0,0 +1,11 @@
+package backend.academy.bot.client.dto.telegram;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Тело запроса {@code sendMessage} Telegram Bot API.
+ *
+ * @param chatId Идентификатор чата получателя.
+ * @param text Текст сообщения.
+ */
+public record SendMessageBody(@JsonProperty("chat_id") Long chatId, String text) {}
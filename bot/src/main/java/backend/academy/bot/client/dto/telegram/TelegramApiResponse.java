@@ -0,0 +1,33 @@
+package backend.academy.bot.client.dto.telegram;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Ответ Telegram Bot API. Поле {@code result} не используется и не десериализуется.
+ *
+ * @param ok Признак успешного выполнения запроса.
+ * @param errorCode Код ошибки, если запрос не выполнен.
+ * @param description Описание ошибки.
+ * @param parameters Дополнительные параметры ошибки.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TelegramApiResponse(
+        boolean ok,
+        @JsonProperty("error_code") Integer errorCode,
+        String description,
+        Parameters parameters) {
+
+    /**
+     * Возвращает задержку, которую Telegram требует выдержать перед повтором запроса.
+     *
+     * @return Количество секунд или {@code null}, если задержка не указана.
+     */
+    public Integer retryAfter() {
+        return parameters != null ? parameters.retryAfter() : null;
+    }
+
+    /** @param retryAfter Количество секунд до повторного запроса после ответа 429. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Parameters(@JsonProperty("retry_after") Integer retryAfter) {}
+}
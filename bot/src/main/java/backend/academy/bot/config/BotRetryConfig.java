@@ -1,5 +1,6 @@
 package backend.academy.bot.config;
 
+import backend.academy.bot.client.ScrapperRpcException;
 import backend.academy.bot.config.RetryProperties;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
@@ -27,6 +28,9 @@ public class BotRetryConfig {
                 .maxAttempts(props.maxAttempts())
                 .waitDuration(Duration.parse(props.waitDuration()))
                 .retryOnException(throwable -> {
+                    if (throwable instanceof ScrapperRpcException ex) {
+                        return ex.retryable();
+                    }
                     if (throwable instanceof WebClientResponseException ex) {
                         int status = ex.getStatusCode().value();
                         if (status == 429) {
@@ -0,0 +1,25 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки хранения диалогов с пользователями.
+ *
+ * @param backend Где хранятся сессии: в памяти узла или в Redis, общем для реплик.
+ * @param idleTimeout Время без активности, после которого незавершенный диалог забывается.
+ * @param maxSessions Максимальное число сессий в памяти узла.
+ */
+@Validated
+@ConfigurationProperties(prefix = "conversation")
+public record ConversationProperties(
+        @NotNull Backend backend, @NotNull Duration idleTimeout, @Positive long maxSessions) {
+
+    public enum Backend {
+        LOCAL,
+        REDIS
+    }
+}
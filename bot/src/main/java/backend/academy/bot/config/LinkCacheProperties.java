@@ -0,0 +1,38 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки двухуровневого кэша списков ссылок.
+ *
+ * @param nearMaximumSize Максимальное число чатов в локальном кэше узла.
+ * @param nearTtl Время жизни записи в локальном кэше.
+ * @param nearRefreshAfter Возраст записи, после которого обращение к ней запускает фоновое обновление.
+ * @param redisTtl Время жизни записи в Redis.
+ * @param invalidationChannel Канал Redis pub/sub для рассылки инвалидаций между репликами.
+ * @param codec Формат, в котором списки хранятся в Redis.
+ * @param compressionThreshold Размер закодированного списка, начиная с которого он сжимается.
+ */
+@Validated
+@ConfigurationProperties(prefix = "link-cache")
+public record LinkCacheProperties(
+        @Positive long nearMaximumSize,
+        @NotNull Duration nearTtl,
+        @NotNull Duration nearRefreshAfter,
+        @NotNull Duration redisTtl,
+        @NotEmpty String invalidationChannel,
+        @NotNull Codec codec,
+        @NotNull DataSize compressionThreshold) {
+
+    /** Формат значений кэша в Redis. */
+    public enum Codec {
+        JSON,
+        SMILE
+    }
+}
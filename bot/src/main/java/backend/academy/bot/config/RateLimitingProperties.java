@@ -1,8 +1,12 @@
 package backend.academy.bot.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import lombok.Getter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @Getter
 @ConfigurationProperties(prefix = "rate-limiting")
@@ -10,10 +14,60 @@ public class RateLimitingProperties {
 
     private final boolean enabled;
     private final int requestsPerMinute;
+    private final String apiKeyHeader;
+    private final Map<String, Client> clients;
+    private final Backend backend;
+    private final Duration idleTimeout;
+    private final long maxBuckets;
+    private final List<String> excludedPaths;
 
+    /**
+     * Настройки ограничения частоты запросов.
+     *
+     * @param enabled Включено ли ограничение.
+     * @param requestsPerMinute Лимит для анонимных клиентов, считается по IP-адресу.
+     * @param apiKeyHeader Заголовок, в котором клиент передает API-ключ.
+     * @param clients Известные клиенты по имени; лимит {@code 0} снимает ограничение.
+     * @param backend Где хранятся бакеты: в памяти узла или в Redis.
+     * @param idleTimeout Время, после которого неиспользуемый бакет удаляется.
+     * @param maxBuckets Максимальное число бакетов в памяти узла.
+     * @param excludedPaths Пути, запросы к которым не ограничиваются (например, webhook Telegram со своей проверкой).
+     */
     @ConstructorBinding
-    public RateLimitingProperties(boolean enabled, int requestsPerMinute) {
+    public RateLimitingProperties(
+            boolean enabled,
+            int requestsPerMinute,
+            @DefaultValue("X-Api-Key") String apiKeyHeader,
+            Map<String, Client> clients,
+            @DefaultValue("LOCAL") Backend backend,
+            @DefaultValue("10m") Duration idleTimeout,
+            @DefaultValue("100000") long maxBuckets,
+            List<String> excludedPaths) {
         this.enabled = enabled;
         this.requestsPerMinute = requestsPerMinute;
+        this.apiKeyHeader = apiKeyHeader;
+        this.clients = clients != null ? Map.copyOf(clients) : Map.of();
+        this.clients.forEach((name, client) -> {
+            if (client.apiKey() == null || client.apiKey().isBlank()) {
+                throw new IllegalStateException("API key of rate limiting client '" + name + "' is not configured");
+            }
+        });
+        this.backend = backend;
+        this.idleTimeout = idleTimeout;
+        this.maxBuckets = maxBuckets;
+        this.excludedPaths = excludedPaths != null ? List.copyOf(excludedPaths) : List.of();
+    }
+
+    /**
+     * Клиент, идентифицируемый по API-ключу.
+     *
+     * @param apiKey API-ключ клиента; обязателен, иначе приложение не запустится.
+     * @param requestsPerMinute Лимит запросов в минуту; {@code 0} снимает ограничение.
+     */
+    public record Client(String apiKey, int requestsPerMinute) {}
+
+    public enum Backend {
+        LOCAL,
+        REDIS
     }
 }
@@ -1,35 +1,27 @@
 package backend.academy.bot.config;
 
-import backend.academy.dto.response.LinkResponse;
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.List;
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.bot.service.cache.VersionedLinksSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, List<LinkResponse>> redisTemplate(RedisConnectionFactory factory) {
-        RedisTemplate<String, List<LinkResponse>> template = new RedisTemplate<>();
-        template.setConnectionFactory(factory);
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
-
-        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, LinkResponse.class);
-
-        Jackson2JsonRedisSerializer<List<LinkResponse>> valueSerializer = new Jackson2JsonRedisSerializer<>(type);
-
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(valueSerializer);
-
-        template.afterPropertiesSet();
-        return template;
+    public ReactiveRedisTemplate<String, VersionedLinks> linkRedisTemplate(
+            ReactiveRedisConnectionFactory factory, LinkCacheProperties properties) {
+        VersionedLinksSerializer valueSerializer = new VersionedLinksSerializer(
+                properties.codec(), properties.compressionThreshold().toBytes());
+
+        RedisSerializationContext<String, VersionedLinks> context =
+                RedisSerializationContext.<String, VersionedLinks>newSerializationContext(new StringRedisSerializer())
+                        .value(valueSerializer)
+                        .build();
+        return new ReactiveRedisTemplate<>(factory, context);
     }
 }
@@ -0,0 +1,63 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки клиента скраппера.
+ *
+ * @param maxConnections Размер общего пула соединений.
+ * @param maxIdleTime Время жизни простаивающего соединения в пуле.
+ * @param pendingAcquireTimeout Максимальное ожидание свободного соединения.
+ * @param h2c Использовать ли HTTP/2 без TLS (через upgrade с HTTP/1.1, если скраппер его поддерживает).
+ * @param hedging Настройки дублирующих запросов для чтения.
+ * @param transport Транспорт вызовов скраппера.
+ * @param rpc Адрес бинарного RPC-канала скраппера; используется при {@code transport: RPC}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "scrapper-client")
+public record ScrapperClientProperties(
+        @Positive int maxConnections,
+        @NotNull Duration maxIdleTime,
+        @NotNull Duration pendingAcquireTimeout,
+        boolean h2c,
+        @NotNull @Valid Hedging hedging,
+        @NotNull Transport transport,
+        @NotNull @Valid Rpc rpc) {
+
+    public enum Transport {
+        HTTP,
+        RPC
+    }
+
+    /**
+     * Настройки дублирующих (hedged) запросов для идемпотентных чтений.
+     *
+     * @param enabled Включены ли дублирующие запросы.
+     * @param percentile Перцентиль задержки чтения, после которого отправляется дублирующий запрос.
+     * @param minSamples Число измерений операции, до набора которого запросы не дублируются.
+     * @param minDelay Нижняя граница задержки перед дублирующим запросом.
+     * @param maxDelay Верхняя граница задержки перед дублирующим запросом.
+     */
+    public record Hedging(
+            boolean enabled,
+            @DecimalMin("0.5") @DecimalMax("0.999") double percentile,
+            @Positive int minSamples,
+            @NotNull Duration minDelay,
+            @NotNull Duration maxDelay) {}
+
+    /**
+     * Адрес бинарного RPC-канала скраппера.
+     *
+     * @param host Хост скраппера.
+     * @param port Порт RPC-канала ({@code app.rpc.port} скраппера).
+     */
+    public record Rpc(@NotEmpty String host, @Positive int port) {}
+}
@@ -8,23 +8,28 @@ import org.springframework.context.annotation.Configuration;
 public class TelegramBotConfig {
 
     private final BotConfig botConfig;
+    private final TelegramProperties telegramProperties;
 
     /**
      * Конфигурация для создания экземпляра Telegram бота.
      *
      * @param botConfig Конфигурация бота, содержащая токен Telegram.
+     * @param telegramProperties Настройки Bot API, содержащие его адрес.
      */
-    public TelegramBotConfig(BotConfig botConfig) {
+    public TelegramBotConfig(BotConfig botConfig, TelegramProperties telegramProperties) {
         this.botConfig = botConfig;
+        this.telegramProperties = telegramProperties;
     }
 
     /**
-     * Создает и возвращает экземпляр Telegram бота.
+     * Создает и возвращает экземпляр Telegram бота, обращающегося к настроенному адресу Bot API.
      *
      * @return Экземпляр Telegram бота.
      */
     @Bean
     public TelegramBot telegramBot() {
-        return new TelegramBot(botConfig.telegramToken());
+        return new TelegramBot.Builder(botConfig.telegramToken())
+                .apiUrl(telegramProperties.api().baseUrl() + "/bot")
+                .build();
     }
 }
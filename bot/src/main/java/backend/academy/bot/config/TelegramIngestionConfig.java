@@ -0,0 +1,22 @@
+package backend.academy.bot.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+@ConditionalOnProperty(name = "telegram.ingestion.mode", havingValue = "LEADER_POLLING")
+public class TelegramIngestionConfig {
+
+    /** Число партиций ограничивает, между сколькими репликами делится обработка обновлений. */
+    @Bean
+    public NewTopic telegramUpdatesTopic(
+            @Value("${kafka.topics.telegram-updates}") String topic, TelegramProperties telegramProperties) {
+        return TopicBuilder.name(topic)
+                .partitions(telegramProperties.ingestion().partitions())
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package backend.academy.bot.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Настройки взаимодействия с Telegram Bot API.
+ *
+ * @param api Настройки HTTP-клиента Bot API.
+ * @param outbound Настройки очереди исходящих сообщений.
+ * @param inbound Настройки обработки входящих обновлений.
+ * @param ingestion Способ получения обновлений от Telegram.
+ */
+@Validated
+@ConfigurationProperties(prefix = "telegram")
+public record TelegramProperties(
+        @NotNull @Valid Api api,
+        @NotNull @Valid Outbound outbound,
+        @NotNull @Valid Inbound inbound,
+        @NotNull @Valid Ingestion ingestion) {
+
+    /**
+     * Настройки HTTP-клиента Bot API.
+     *
+     * @param baseUrl Адрес Bot API; для нагрузочных тестов указывается локальный фейковый сервер.
+     * @param maxConnections Размер пула соединений.
+     * @param maxIdleTime Время жизни простаивающего соединения в пуле.
+     * @param timeout Таймаут ответа.
+     */
+    public record Api(
+            @NotEmpty String baseUrl,
+            @Positive int maxConnections,
+            @NotNull Duration maxIdleTime,
+            @NotNull Duration timeout) {}
+
+    /**
+     * Настройки очереди исходящих сообщений.
+     *
+     * @param globalRate Максимальное число сообщений в секунду для всего бота.
+     * @param perChatInterval Минимальный интервал между сообщениями в один чат.
+     * @param queueCapacity Максимальное число сообщений, ожидающих отправки.
+     * @param maxAttempts Число попыток отправки сообщения при сетевых ошибках.
+     * @param retryBackoff Пауза перед повторной отправкой после сетевой ошибки.
+     * @param coalesceWindow Окно, в течение которого уведомления одного чата копятся для объединения.
+     */
+    public record Outbound(
+            @Positive int globalRate,
+            @NotNull Duration perChatInterval,
+            @Positive int queueCapacity,
+            @Positive int maxAttempts,
+            @NotNull Duration retryBackoff,
+            @NotNull Duration coalesceWindow) {}
+
+    /**
+     * Настройки обработки входящих обновлений.
+     *
+     * @param stripes Число очередей, между которыми распределяются чаты; чаты из разных очередей обрабатываются
+     *     параллельно.
+     * @param queueCapacity Вместимость одной очереди; при заполнении прием новых обновлений приостанавливается.
+     * @param handlerTimeout Максимальное время обработки одного обновления.
+     */
+    public record Inbound(@Positive int stripes, @Positive int queueCapacity, @NotNull Duration handlerTimeout) {}
+
+    /**
+     * Способ получения обновлений от Telegram.
+     *
+     * @param mode Long polling (только один процесс на токен), long polling выбранным лидером с раздачей обновлений
+     *     репликам через Kafka или webhook (любое число реплик за балансировщиком).
+     * @param webhookUrl Публичный адрес webhook; если задан, бот регистрирует его при старте.
+     * @param secretToken Секрет, который Telegram передает в заголовке каждого запроса к webhook.
+     * @param dedupeTtl Время, в течение которого повторная доставка обновления с тем же {@code update_id} игнорируется.
+     * @param leaderLease Срок аренды роли опрашивающего лидера; если лидер не продлил аренду, ее забирает другая
+     *     реплика.
+     * @param partitions Число партиций топика входящих обновлений в режиме {@code LEADER_POLLING}.
+     */
+    public record Ingestion(
+            @NotNull Mode mode,
+            String webhookUrl,
+            String secretToken,
+            @NotNull Duration dedupeTtl,
+            @NotNull Duration leaderLease,
+            @Positive int partitions) {}
+
+    public enum Mode {
+        POLLING,
+        LEADER_POLLING,
+        WEBHOOK
+    }
+}
@@ -1,17 +1,23 @@
 package backend.academy.bot.controller;
 
+import backend.academy.bot.service.telegram.TelegramMessageDispatcher;
 import backend.academy.dto.request.LinkUpdateRequest;
 import backend.academy.dto.response.ApiErrorResponse;
-import com.pengrad.telegrambot.TelegramBot;
-import com.pengrad.telegrambot.request.SendMessage;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,15 +27,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class BotController {
 
     private static final Logger logger = LoggerFactory.getLogger(BotController.class);
-    private final TelegramBot bot;
+    private final TelegramMessageDispatcher messageDispatcher;
+    private final ObjectReader updateReader;
 
     /**
      * Контроллер для обработки запросов, связанных с Telegram ботом.
      *
-     * @param bot Экземпляр Telegram бота.
+     * @param messageDispatcher Очередь исходящих сообщений Telegram.
+     * @param objectMapper Маппер для разбора потока обновлений.
      */
-    public BotController(TelegramBot bot) {
-        this.bot = bot;
+    public BotController(TelegramMessageDispatcher messageDispatcher, ObjectMapper objectMapper) {
+        this.messageDispatcher = messageDispatcher;
+        this.updateReader = objectMapper.readerFor(LinkUpdateRequest.class);
     }
 
     /**
@@ -53,9 +62,56 @@ public class BotController {
                 .addKeyValue("linkUpdate", linkUpdate)
                 .log();
 
+        enqueue(linkUpdate);
+    }
+
+    /**
+     * Принимает пачку обновлений в виде JSON-массива и ставит уведомления в очередь.
+     *
+     * @param linkUpdates Список обновлений ссылок.
+     * @return 202, когда все уведомления поставлены в очередь.
+     */
+    @Operation(summary = "Отправить пачку обновлений")
+    @ApiResponse(responseCode = "202", description = "Обновления приняты")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Некорректные параметры запроса",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    @PostMapping(value = "/links/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> updateNotifyBatch(@RequestBody List<LinkUpdateRequest> linkUpdates) {
+        linkUpdates.forEach(this::enqueue);
+        logger.atInfo()
+                .setMessage("Update batch queued")
+                .addKeyValue("size", linkUpdates.size())
+                .log();
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Принимает поток обновлений в формате NDJSON и ставит уведомления в очередь по мере чтения.
+     *
+     * @param body Тело запроса, по одному обновлению в строке.
+     * @return 202, когда все уведомления поставлены в очередь.
+     * @throws IOException Если тело запроса не удалось прочитать или разобрать.
+     */
+    @Operation(summary = "Отправить поток обновлений")
+    @ApiResponse(responseCode = "202", description = "Обновления приняты")
+    @PostMapping(value = "/links/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Void> updateNotifyStream(InputStream body) throws IOException {
+        int count = 0;
+        try (MappingIterator<LinkUpdateRequest> updates = updateReader.readValues(body)) {
+            while (updates.hasNextValue()) {
+                enqueue(updates.nextValue());
+                count++;
+            }
+        }
+        logger.atInfo().setMessage("Update stream queued").addKeyValue("size", count).log();
+        return ResponseEntity.accepted().build();
+    }
+
+    private void enqueue(LinkUpdateRequest linkUpdate) {
         for (Long chatId : linkUpdate.tgChatIds()) {
-            SendMessage message = new SendMessage(chatId, linkUpdate.description());
-            bot.execute(message);
+            messageDispatcher.enqueueNotification(chatId, linkUpdate.description());
         }
     }
 }
@@ -0,0 +1,86 @@
+package backend.academy.bot.controller;
+
+import backend.academy.bot.config.TelegramProperties;
+import backend.academy.bot.service.bot.BotService;
+import backend.academy.bot.service.telegram.UpdateDeduplicator;
+import com.pengrad.telegrambot.BotUtils;
+import com.pengrad.telegrambot.model.Update;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Прием обновлений Telegram через webhook. В отличие от long polling, запросы могут обрабатывать несколько реплик за
+ * балансировщиком.
+ */
+@RestController
+@ConditionalOnProperty(name = "telegram.ingestion.mode", havingValue = "WEBHOOK")
+public class TelegramWebhookController {
+
+    static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramWebhookController.class);
+    private final BotService botService;
+    private final UpdateDeduplicator deduplicator;
+    private final byte[] secretToken;
+
+    /**
+     * @param botService Сервис, обрабатывающий сообщения пользователей.
+     * @param deduplicator Фильтр повторных доставок обновлений.
+     * @param telegramProperties Настройки Telegram, содержащие секрет webhook.
+     */
+    public TelegramWebhookController(
+            BotService botService, UpdateDeduplicator deduplicator, TelegramProperties telegramProperties) {
+        this.botService = botService;
+        this.deduplicator = deduplicator;
+        this.secretToken = telegramProperties.ingestion().secretToken().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Принимает обновление от Telegram и ставит его в очередь обработки чата.
+     *
+     * @param secret Секрет из заголовка запроса.
+     * @param body Обновление в формате Bot API.
+     * @return 200, если обновление принято или уже было получено; 401 при неверном секрете.
+     */
+    @Operation(summary = "Принять обновление Telegram")
+    @ApiResponse(responseCode = "200", description = "Обновление принято")
+    @ApiResponse(responseCode = "400", description = "Тело запроса не является обновлением")
+    @ApiResponse(responseCode = "401", description = "Неверный секрет webhook")
+    @PostMapping(value = "/telegram/webhook", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> receiveUpdate(
+            @RequestHeader(name = SECRET_TOKEN_HEADER, required = false) String secret, @RequestBody String body) {
+        if (secret == null || !MessageDigest.isEqual(secretToken, secret.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Update update;
+        try {
+            update = BotUtils.parseUpdate(body);
+        } catch (RuntimeException e) {
+            logger.warn("Получено некорректное обновление webhook", e);
+            return ResponseEntity.badRequest().build();
+        }
+        if (update == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (deduplicator.firstSeen(update.updateId())) {
+            botService.acceptUpdate(update);
+        } else {
+            logger.debug("Повторная доставка обновления update_id: {}", update.updateId());
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,28 +1,43 @@
 package backend.academy.bot.filter;
 
 import backend.academy.bot.config.RateLimitingProperties;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.Refill;
+import backend.academy.bot.filter.ratelimit.RateLimitStore;
+import backend.academy.bot.filter.ratelimit.RateLimitStore.RateLimitDecision;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import lombok.RequiredArgsConstructor;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+/**
+ * Ограничивает частоту запросов по идентичности клиента.
+ *
+ * <p>Клиент с известным API-ключом получает лимит своего тарифа (или не ограничивается вовсе), остальные запросы
+ * ограничиваются по IP-адресу с лимитом по умолчанию.
+ */
 @Component
-@RequiredArgsConstructor
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private final RateLimitingProperties properties;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitStore rateLimitStore;
+    private final Map<String, Map.Entry<String, RateLimitingProperties.Client>> clientsByApiKey;
+
+    public RateLimitingFilter(RateLimitingProperties properties, RateLimitStore rateLimitStore) {
+        this.properties = properties;
+        this.rateLimitStore = rateLimitStore;
+        this.clientsByApiKey = properties.clients().entrySet().stream()
+                .filter(entry -> entry.getValue().apiKey() != null)
+                .collect(Collectors.toUnmodifiableMap(entry -> entry.getValue().apiKey(), entry -> entry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return properties.excludedPaths().contains(request.getRequestURI());
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,25 +48,32 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        String ip = request.getRemoteAddr();
-        Bucket bucket = buckets.computeIfAbsent(ip, this::createNewBucket);
+        String key;
+        int limit;
+        String apiKey = request.getHeader(properties.apiKeyHeader());
+        Map.Entry<String, RateLimitingProperties.Client> client = apiKey != null ? clientsByApiKey.get(apiKey) : null;
+        if (client != null) {
+            key = "client:" + client.getKey();
+            limit = client.getValue().requestsPerMinute();
+        } else {
+            key = "ip:" + request.getRemoteAddr();
+            limit = properties.requestsPerMinute();
+        }
 
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-        if (probe.isConsumed()) {
+        if (limit <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitDecision decision = rateLimitStore.tryConsume(key, limit);
+        if (decision.allowed()) {
             filterChain.doFilter(request, response);
         } else {
-            long waitForRefillSeconds = Math.max(1, probe.getNanosToWaitForRefill() / 1_000_000_000);
+            long waitForRefillSeconds = Math.max(1, decision.nanosToWait() / 1_000_000_000);
 
             response.setStatus(429);
             response.setHeader("Retry-After", String.valueOf(waitForRefillSeconds));
             response.getWriter().write("Too many requests - rate limit exceeded. Try again later.");
         }
     }
-
-    @SuppressWarnings("PMD.UnusedFormalParameter")
-    private Bucket createNewBucket(String ip) {
-        int limit = properties.requestsPerMinute();
-        Bandwidth limitPerMinute = Bandwidth.classic(limit, Refill.greedy(limit, Duration.ofMinutes(1)));
-        return Bucket.builder().addLimit(limitPerMinute).build();
-    }
 }
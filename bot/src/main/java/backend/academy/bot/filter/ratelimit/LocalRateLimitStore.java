@@ -0,0 +1,39 @@
+package backend.academy.bot.filter.ratelimit;
+
+import backend.academy.bot.config.RateLimitingProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Бакеты в памяти узла. Неиспользуемые бакеты вытесняются по таймауту и по размеру кэша. */
+@Component
+@ConditionalOnProperty(name = "rate-limiting.backend", havingValue = "LOCAL", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitStore(RateLimitingProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(properties.maxBuckets())
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, int requestsPerMinute) {
+        Bucket bucket = buckets.get(key, ignored -> createNewBucket(requestsPerMinute));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        return new RateLimitDecision(probe.isConsumed(), probe.getNanosToWaitForRefill());
+    }
+
+    private Bucket createNewBucket(int limit) {
+        Bandwidth limitPerMinute = Bandwidth.classic(limit, Refill.greedy(limit, Duration.ofMinutes(1)));
+        return Bucket.builder().addLimit(limitPerMinute).build();
+    }
+}
@@ -0,0 +1,20 @@
+package backend.academy.bot.filter.ratelimit;
+
+/** Хранилище бакетов ограничения частоты запросов. */
+public interface RateLimitStore {
+
+    /**
+     * Пытается списать один токен из бакета клиента.
+     *
+     * @param key Идентификатор клиента.
+     * @param requestsPerMinute Лимит запросов в минуту для клиента.
+     * @return Результат попытки.
+     */
+    RateLimitDecision tryConsume(String key, int requestsPerMinute);
+
+    /**
+     * @param allowed Разрешен ли запрос.
+     * @param nanosToWait Время до появления следующего токена, если запрос отклонен.
+     */
+    record RateLimitDecision(boolean allowed, long nanosToWait) {}
+}
@@ -0,0 +1,87 @@
+package backend.academy.bot.filter.ratelimit;
+
+import backend.academy.bot.config.RateLimitingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Бакеты в Redis, общие для всех реплик бота. Пополнение и списание выполняются одним Lua-скриптом по времени сервера
+ * Redis, поэтому расхождение часов реплик не влияет на лимит.
+ *
+ * <p>Если Redis недоступен или скрипт вернул неожиданный ответ, запрос отклоняется: сбой хранилища не должен снимать
+ * ограничение. Каждый такой отказ пишется в лог и считается метрикой {@code rate-limit.store.failures}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rate-limiting.backend", havingValue = "REDIS")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rate-limit::";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>(
+            """
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = capacity / 60000
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + (now - ts) * refill_per_ms)
+            local allowed = 0
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                wait = math.ceil((1 - tokens) / refill_per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return {allowed, wait}
+            """,
+            List.class);
+
+    private static final long FAILURE_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String idleTimeoutMillis;
+    private final Counter failureCounter;
+
+    public RedisRateLimitStore(
+            StringRedisTemplate redisTemplate, RateLimitingProperties properties, MeterRegistry registry) {
+        this.redisTemplate = redisTemplate;
+        this.idleTimeoutMillis = String.valueOf(properties.idleTimeout().toMillis());
+        this.failureCounter = Counter.builder("rate-limit.store.failures").register(registry);
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, int requestsPerMinute) {
+        List<?> result;
+        try {
+            result = redisTemplate.execute(
+                    TOKEN_BUCKET, List.of(KEY_PREFIX + key), String.valueOf(requestsPerMinute), idleTimeoutMillis);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit check failed for {}, rejecting request", key, e);
+            failureCounter.increment();
+            return new RateLimitDecision(false, FAILURE_RETRY_NANOS);
+        }
+        if (result == null || result.size() < 2) {
+            log.warn("Rate limit script returned unexpected result {} for {}, rejecting request", result, key);
+            failureCounter.increment();
+            return new RateLimitDecision(false, FAILURE_RETRY_NANOS);
+        }
+        boolean allowed = ((Number) result.get(0)).longValue() == 1;
+        long waitMillis = ((Number) result.get(1)).longValue();
+        return new RateLimitDecision(allowed, TimeUnit.MILLISECONDS.toNanos(waitMillis));
+    }
+}
@@ -7,16 +7,16 @@ import static backend.academy.bot.message.BotMessage.TAGS;
 import static backend.academy.bot.message.BotMessage.UNKNOWN_COMMAND;
 
 import backend.academy.bot.client.ScrapperClient;
+import backend.academy.bot.client.dto.LinkMutation;
 import backend.academy.bot.commands.BotCommandHandler;
 import backend.academy.bot.commands.CommandHandlerFactory;
 import backend.academy.bot.service.cache.CachedLinkService;
+import backend.academy.bot.service.telegram.TelegramMessageDispatcher;
+import backend.academy.bot.service.telegram.TelegramUpdateExecutor;
 import backend.academy.bot.state.StateMachine;
 import backend.academy.bot.state.TrackState;
 import backend.academy.dto.response.LinkResponse;
-import com.pengrad.telegrambot.TelegramBot;
-import com.pengrad.telegrambot.UpdatesListener;
 import com.pengrad.telegrambot.model.Update;
-import com.pengrad.telegrambot.request.SendMessage;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 public class BotService {
@@ -37,60 +38,58 @@ public class BotService {
     private final CommandHandlerFactory commandHandlerFactory;
     private final StateMachine stateMachine;
     private final ScrapperClient scrapperClient;
-    private final TelegramBot bot;
     private final CachedLinkService cachedLinkService;
+    private final TelegramMessageDispatcher messageDispatcher;
+    private final TelegramUpdateExecutor updateExecutor;
 
     /**
      * @param commandHandlerFactory Фабрика обработчиков команд, используемая для получения обработчиков команд.
      * @param stateMachine Машина состояний, управляющая состоянием чатов.
      * @param scrapperClient Клиент для взаимодействия с сервисом скраппинга ссылок.
-     * @param bot Экземпляр Telegram-бота для отправки сообщений.
+     * @param messageDispatcher Очередь исходящих сообщений Telegram.
+     * @param updateExecutor Очереди входящих обновлений, упорядоченные по чатам.
      */
     public BotService(
             CommandHandlerFactory commandHandlerFactory,
             StateMachine stateMachine,
             ScrapperClient scrapperClient,
-            TelegramBot bot,
-            CachedLinkService cachedLinkService) {
+            CachedLinkService cachedLinkService,
+            TelegramMessageDispatcher messageDispatcher,
+            TelegramUpdateExecutor updateExecutor) {
         this.commandHandlerFactory = commandHandlerFactory;
         this.stateMachine = stateMachine;
         this.scrapperClient = scrapperClient;
-        this.bot = bot;
         this.cachedLinkService = cachedLinkService;
-        initTelegramListener();
-    }
-
-    private void initTelegramListener() {
-        bot.setUpdatesListener(updates -> {
-            updates.forEach(this::processTelegramUpdate);
-            return UpdatesListener.CONFIRMED_UPDATES_ALL;
-        });
+        this.messageDispatcher = messageDispatcher;
+        this.updateExecutor = updateExecutor;
     }
 
     /**
-     * Обрабатывает входящее обновление от Telegram.
+     * Передает входящее обновление от Telegram в очередь его чата. Вызывается как при long polling, так и из webhook.
      *
      * @param update Входящее обновление, содержащее сообщение от пользователя.
      */
-    private void processTelegramUpdate(Update update) {
+    public void acceptUpdate(Update update) {
         if (update.message() != null && update.message().text() != null) {
             Long chatId = update.message().chat().id();
             String messageText = update.message().text();
-            handleMessage(chatId, messageText)
-                    .subscribe(
-                            response -> sendTelegramResponse(chatId, response),
-                            error -> handleTelegramError(chatId, error));
+            updateExecutor.submit(chatId, () -> Mono.defer(() -> handleMessage(chatId, messageText))
+                    .doOnNext(response -> sendTelegramResponse(chatId, response))
+                    .onErrorResume(error -> {
+                        handleTelegramError(chatId, error);
+                        return Mono.empty();
+                    }));
         }
     }
 
     /**
-     * Отправляет ответное сообщение пользователю через Telegram-бота.
+     * Ставит ответное сообщение пользователю в очередь отправки.
      *
      * @param chatId Идентификатор чата, в который отправляется сообщение.
      * @param response Текст сообщения для отправки.
      */
     private void sendTelegramResponse(Long chatId, String response) {
-        bot.execute(new SendMessage(chatId, response));
+        messageDispatcher.enqueue(chatId, response);
     }
 
     /**
@@ -101,7 +100,7 @@ public class BotService {
      */
     private void handleTelegramError(Long chatId, Throwable error) {
         logger.error("Error processing telegram message", error);
-        bot.execute(new SendMessage(chatId, "Произошла ошибка при обработке сообщения"));
+        messageDispatcher.enqueue(chatId, "Произошла ошибка при обработке сообщения");
     }
 
     /**
@@ -202,11 +201,9 @@ public class BotService {
                                 link,
                                 new HashSet<>(tags),
                                 new HashSet<>(filters)))
-                .doOnSuccess(resp -> {
-                    cachedLinkService.evictCache(chatId);
-                    // 👉 сразу подгружаем и кладём в кэш заново
-                    cachedLinkService.getLinks(chatId).subscribe();
-                })
+                .defaultIfEmpty(LinkMutation.UNKNOWN)
+                .flatMap(mutation -> cachedLinkService.applyMutation(chatId, mutation))
+                .publishOn(Schedulers.boundedElastic())
                 .then(Mono.fromCallable(() -> {
                     stateMachine.clearPendingData(chatId);
                     stateMachine.setState(chatId, TrackState.IDLE);
@@ -227,10 +224,9 @@ public class BotService {
             logger.info("Удаление ссылки chatId: {}, link: {}", chatId, link);
             return scrapperClient
                     .removeLink(chatId, link)
-                    .doOnSuccess(resp -> {
-                        cachedLinkService.evictCache(chatId);
-                        cachedLinkService.getLinks(chatId).subscribe();
-                    })
+                    .defaultIfEmpty(LinkMutation.UNKNOWN)
+                    .flatMap(mutation -> cachedLinkService.applyMutation(chatId, mutation))
+                    .publishOn(Schedulers.boundedElastic())
                     .then(Mono.fromCallable(() -> {
                         stateMachine.setState(chatId, TrackState.IDLE);
                         return SUCCESS_DELETE;
@@ -270,17 +266,20 @@ public class BotService {
             stateMachine.setState(chatId, TrackState.IDLE);
             return sendAllLinks(chatId);
         } else if ("да".equalsIgnoreCase(message)) {
-            return scrapperClient.getAllTags(chatId).flatMap(userTags -> {
-                if (userTags.isEmpty()) {
-                    stateMachine.setState(chatId, TrackState.IDLE);
-                    return Mono.just("У вас нет ссылок с тегами. Будут показаны все ссылки.\n")
-                            .flatMap(msg -> sendAllLinks(chatId).map(msg2 -> msg + msg2));
-                } else {
-                    stateMachine.setState(chatId, TrackState.AWAITING_TAGS_INPUT);
-                    return Mono.just("Доступные теги: " + String.join(", ", userTags)
-                            + "\nВведите теги через запятую (например: работа,проект)");
-                }
-            });
+            return cachedLinkService
+                    .getAllTags(chatId)
+                    .publishOn(Schedulers.boundedElastic())
+                    .flatMap(userTags -> {
+                        if (userTags.isEmpty()) {
+                            stateMachine.setState(chatId, TrackState.IDLE);
+                            return Mono.just("У вас нет ссылок с тегами. Будут показаны все ссылки.\n")
+                                    .flatMap(msg -> sendAllLinks(chatId).map(msg2 -> msg + msg2));
+                        } else {
+                            stateMachine.setState(chatId, TrackState.AWAITING_TAGS_INPUT);
+                            return Mono.just("Доступные теги: " + String.join(", ", userTags)
+                                    + "\nВведите теги через запятую (например: работа,проект)");
+                        }
+                    });
         } else {
             return Mono.just("Пожалуйста, ответьте 'да' или 'нет'");
         }
@@ -301,14 +300,17 @@ public class BotService {
         if (inputTags.isEmpty()) {
             return Mono.just("Не указаны теги. Попробуйте еще раз");
         }
-        return scrapperClient.getLinksByTags(chatId, inputTags).flatMap(filteredLinks -> {
-            stateMachine.setState(chatId, TrackState.IDLE);
-            if (filteredLinks.isEmpty()) {
-                return Mono.just("Нет ссылок с указанными тегами.\n")
-                        .flatMap(msg -> sendAllLinks(chatId).map(msg2 -> msg + msg2));
-            }
-            return Mono.just(formatFilteredLinks(filteredLinks));
-        });
+        return cachedLinkService
+                .getLinksByTags(chatId, inputTags)
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(filteredLinks -> {
+                    stateMachine.setState(chatId, TrackState.IDLE);
+                    if (filteredLinks.isEmpty()) {
+                        return Mono.just("Нет ссылок с указанными тегами.\n")
+                                .flatMap(msg -> sendAllLinks(chatId).map(msg2 -> msg + msg2));
+                    }
+                    return Mono.just(formatFilteredLinks(filteredLinks));
+                });
     }
 
     /**
@@ -1,36 +1,294 @@
 package backend.academy.bot.service.cache;
 
 import backend.academy.bot.client.ScrapperClient;
+import backend.academy.bot.client.dto.LinkMutation;
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.bot.config.LinkCacheProperties;
 import backend.academy.dto.response.LinkResponse;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
-import org.springframework.data.redis.core.RedisTemplate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 
+/**
+ * Двухуровневый кэш списков ссылок: локальный кэш узла перед общим Redis.
+ *
+ * <p>Промахи по одному чату объединяются: параллельные запросы ждут одну и ту же загрузку, а не обращаются к скрапперу
+ * каждый. Записи, к которым обращаются после {@code near-refresh-after}, обновляются из скраппера в фоне, пока
+ * пользователям отдается текущее значение.
+ *
+ * <p>Redis читается и пишется только через реактивный клиент. При изменении ссылок чата инвалидация рассылается через
+ * Redis pub/sub, и каждая реплика удаляет запись из своего локального кэша.
+ *
+ * <p>Просмотр тегов и фильтрация по ним обслуживаются индексом над закэшированным списком, без отдельных запросов к
+ * скрапперу.
+ *
+ * <p>Списки хранятся вместе с версией из скраппера. Фоновое обновление передает версию в If-None-Match и при ответе
+ * 304 сохраняет уже построенный индекс.
+ *
+ * <p>Результат /track и /untrack применяется к закэшированному списку на месте, если его версия следует сразу за
+ * закэшированной; при пропуске версии или неизвестной версии запись сбрасывается.
+ *
+ * <p>Ответ fallback скраппера (список без версии) не кэшируется ни на одном уровне и отдается только текущему запросу.
+ */
+@Slf4j
 @Service
 public class CachedLinkService {
+
+    private static final String KEY_PREFIX = "versionedLinks::";
+    private static final String MESSAGE_SEPARATOR = ":";
+
     private final ScrapperClient scrapperClient;
-    private final RedisTemplate<String, List<LinkResponse>> redisTemplate;
+    private final ReactiveRedisTemplate<String, VersionedLinks> redisTemplate;
+    private final ReactiveStringRedisTemplate pubSubTemplate;
+    private final LinkCacheProperties properties;
+    private final AsyncLoadingCache<Long, IndexedLinks> nearCache;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private Disposable invalidationSubscription;
 
-    public CachedLinkService(ScrapperClient scrapperClient, RedisTemplate<String, List<LinkResponse>> redisTemplate) {
+    public CachedLinkService(
+            ScrapperClient scrapperClient,
+            ReactiveRedisTemplate<String, VersionedLinks> redisTemplate,
+            ReactiveStringRedisTemplate pubSubTemplate,
+            LinkCacheProperties properties) {
         this.scrapperClient = scrapperClient;
         this.redisTemplate = redisTemplate;
+        this.pubSubTemplate = pubSubTemplate;
+        this.properties = properties;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.nearMaximumSize())
+                .expireAfterWrite(properties.nearTtl())
+                .refreshAfterWrite(properties.nearRefreshAfter())
+                .buildAsync(new LinksLoader());
+    }
+
+    @PostConstruct
+    public void subscribeToInvalidations() {
+        invalidationSubscription = pubSubTemplate
+                .listenToChannel(properties.invalidationChannel())
+                .subscribe(
+                        message -> invalidateNear(message.getMessage()),
+                        error -> log.error("Link cache invalidation subscription failed", error));
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
     }
 
     public Mono<List<LinkResponse>> getLinks(Long chatId) {
-        String key = "listLinks::" + chatId;
+        return indexed(chatId).map(IndexedLinks::links);
+    }
+
+    /**
+     * Возвращает теги ссылок чата из закэшированного списка.
+     *
+     * @param chatId Идентификатор чата.
+     * @return Mono<Set<String>> Теги в алфавитном порядке.
+     */
+    public Mono<Set<String>> getAllTags(Long chatId) {
+        return indexed(chatId).map(IndexedLinks::tags);
+    }
+
+    /**
+     * Возвращает ссылки чата, помеченные хотя бы одним из указанных тегов.
+     *
+     * @param chatId Идентификатор чата.
+     * @param tags Теги для фильтрации.
+     * @return Mono<List<LinkResponse>> Подходящие ссылки из закэшированного списка.
+     */
+    public Mono<List<LinkResponse>> getLinksByTags(Long chatId, Set<String> tags) {
+        return indexed(chatId).map(links -> links.linksByTags(tags));
+    }
+
+    private Mono<IndexedLinks> indexed(Long chatId) {
+        // отмена одного подписчика не должна отменять загрузку, которую ждут остальные
+        return Mono.defer(() -> Mono.fromFuture(nearCache.get(chatId), true))
+                .onErrorResume(FallbackLoaded.class, fallback -> Mono.just(IndexedLinks.of(fallback.links)));
+    }
+
+    public Mono<Void> evictCache(Long chatId) {
+        return Mono.fromRunnable(() -> nearCache.synchronous().invalidate(chatId))
+                .then(redisTemplate.delete(KEY_PREFIX + chatId))
+                .then(publishInvalidation(chatId))
+                .onErrorResume(error -> {
+                    log.warn("Link cache invalidation failed for chat {}", chatId, error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Применяет результат добавления или удаления ссылки к закэшированному списку чата.
+     *
+     * @param chatId Идентификатор чата.
+     * @param mutation Результат изменения, полученный от скраппера.
+     * @return Mono<Void> Завершается после обновления кэша.
+     */
+    public Mono<Void> applyMutation(Long chatId, LinkMutation mutation) {
+        if (mutation.version() == null || (mutation.added() == null && mutation.removedUrl() == null)) {
+            return evictCache(chatId);
+        }
+        return currentValue(chatId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(cached -> {
+                    if (cached.isEmpty()) {
+                        // в общем кэше записи нет, но она может остаться в локальных кэшах других реплик
+                        return evictCache(chatId);
+                    }
+                    VersionedLinks current = cached.get();
+                    if (current.version() == null || mutation.version() > current.version() + 1) {
+                        log.debug(
+                                "Link cache version gap for chat {}: cached {}, mutation {}",
+                                chatId,
+                                current.version(),
+                                mutation.version());
+                        return evictCache(chatId);
+                    }
+                    if (mutation.version() <= current.version()) {
+                        // закэшированный список прочитан уже после этого изменения
+                        return Mono.empty();
+                    }
+                    return store(chatId, apply(current, mutation));
+                })
+                .onErrorResume(error -> {
+                    log.warn("Link cache update failed for chat {}", chatId, error);
+                    return evictCache(chatId);
+                });
+    }
+
+    private static VersionedLinks apply(VersionedLinks current, LinkMutation mutation) {
+        List<LinkResponse> links = new ArrayList<>(current.links().size() + 1);
+        URI changedUrl = mutation.added() != null ? mutation.added().url() : mutation.removedUrl();
+        for (LinkResponse link : current.links()) {
+            if (!link.url().equals(changedUrl)) {
+                links.add(link);
+            }
+        }
+        if (mutation.added() != null) {
+            links.add(mutation.added());
+        }
+        return new VersionedLinks(mutation.version(), List.copyOf(links));
+    }
+
+    private Mono<VersionedLinks> currentValue(Long chatId) {
+        CompletableFuture<IndexedLinks> near = nearCache.getIfPresent(chatId);
+        if (near != null && near.isDone() && !near.isCompletedExceptionally()) {
+            return Mono.justOrEmpty(near.join()).map(IndexedLinks::source);
+        }
+        return redisTemplate.opsForValue().get(KEY_PREFIX + chatId);
+    }
+
+    private Mono<Void> store(Long chatId, VersionedLinks links) {
+        nearCache.put(chatId, CompletableFuture.completedFuture(IndexedLinks.of(links)));
+        return redisTemplate
+                .opsForValue()
+                .set(KEY_PREFIX + chatId, links, properties.redisTtl())
+                .then(publishInvalidation(chatId))
+                .then();
+    }
+
+    private Mono<Long> publishInvalidation(Long chatId) {
+        return pubSubTemplate.convertAndSend(
+                properties.invalidationChannel(), instanceId + MESSAGE_SEPARATOR + chatId);
+    }
+
+    private void invalidateNear(String message) {
+        int separator = message.lastIndexOf(MESSAGE_SEPARATOR);
+        if (separator >= 0 && instanceId.equals(message.substring(0, separator))) {
+            // собственная инвалидация: локальный кэш уже обновлен
+            return;
+        }
+        try {
+            nearCache.synchronous().invalidate(Long.valueOf(message.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed link cache invalidation: {}", message);
+        }
+    }
+
+    private Mono<VersionedLinks> loadFromRedisOrScrapper(Long chatId) {
+        return redisTemplate
+                .opsForValue()
+                .get(KEY_PREFIX + chatId)
+                .onErrorResume(error -> {
+                    log.warn("Link cache read failed for chat {}", chatId, error);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loadFromScrapper(chatId, null)));
+    }
+
+    private Mono<VersionedLinks> loadFromScrapper(Long chatId, VersionedLinks cached) {
+        Mono<VersionedLinks> loaded = cached == null || cached.version() == null
+                ? scrapperClient.getLinks(chatId)
+                : scrapperClient.revalidateLinks(chatId, cached);
+        return loaded.flatMap(links -> {
+            if (links.version() == null || links == cached) {
+                // ответ fallback не кладем в общий кэш, а неизменившийся список там уже лежит
+                return Mono.just(links);
+            }
+            return redisTemplate
+                    .opsForValue()
+                    .set(KEY_PREFIX + chatId, links, properties.redisTtl())
+                    .onErrorResume(error -> {
+                        log.warn("Link cache write failed for chat {}", chatId, error);
+                        return Mono.just(false);
+                    })
+                    .thenReturn(links);
+        });
+    }
 
-        List<LinkResponse> cached = redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            return Mono.just(cached);
+    /**
+     * Первичная загрузка идет через Redis, фоновое обновление горячих чатов - сразу в скраппер условным запросом: пока
+     * версия списка не изменилась, скраппер отвечает 304 без тела и запись остается прежней.
+     */
+    private final class LinksLoader implements AsyncCacheLoader<Long, IndexedLinks> {
+
+        @Override
+        public CompletableFuture<IndexedLinks> asyncLoad(Long chatId, Executor executor) {
+            // неудачная загрузка не остается в кэше, поэтому следующий запрос снова обратится к скрапперу
+            return loadFromRedisOrScrapper(chatId)
+                    .flatMap(links -> links.version() == null
+                            ? Mono.<IndexedLinks>error(new FallbackLoaded(links))
+                            : Mono.just(IndexedLinks.of(links)))
+                    .toFuture();
         }
 
-        return scrapperClient
-                .getLinks(chatId)
-                .doOnNext(links -> redisTemplate.opsForValue().set(key, links));
+        @Override
+        public CompletableFuture<IndexedLinks> asyncReload(Long chatId, IndexedLinks oldValue, Executor executor) {
+            return loadFromScrapper(chatId, oldValue.source())
+                    .map(links -> links == oldValue.source() ? oldValue : IndexedLinks.of(links))
+                    .defaultIfEmpty(oldValue)
+                    .toFuture();
+        }
     }
 
-    public void evictCache(Long chatId) {
-        redisTemplate.delete("listLinks::" + chatId);
+    /** Загрузка вернула ответ fallback: он отдается ожидающим запросам, но не попадает в локальный кэш. */
+    private static final class FallbackLoaded extends RuntimeException {
+
+        private final transient VersionedLinks links;
+
+        FallbackLoaded(VersionedLinks links) {
+            super("Scrapper returned fallback links", null, false, false);
+            this.links = links;
+        }
     }
 }
@@ -0,0 +1,47 @@
+package backend.academy.bot.service.cache;
+
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.dto.response.LinkResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Список ссылок чата вместе с индексом по тегам, который строится один раз при попадании списка в локальный кэш.
+ *
+ * @param source Закэшированный список с версией.
+ * @param byTag Ссылки, сгруппированные по тегам; теги упорядочены по алфавиту.
+ */
+record IndexedLinks(VersionedLinks source, Map<String, List<LinkResponse>> byTag) {
+
+    static IndexedLinks of(VersionedLinks source) {
+        Map<String, List<LinkResponse>> byTag = new TreeMap<>();
+        for (LinkResponse link : source.links()) {
+            for (String tag : link.tags()) {
+                byTag.computeIfAbsent(tag, ignored -> new ArrayList<>()).add(link);
+            }
+        }
+        return new IndexedLinks(source, Collections.unmodifiableMap(byTag));
+    }
+
+    List<LinkResponse> links() {
+        return source.links();
+    }
+
+    Set<String> tags() {
+        return byTag.keySet();
+    }
+
+    /** Ссылки, у которых есть хотя бы один из указанных тегов, без повторов. */
+    List<LinkResponse> linksByTags(Set<String> tags) {
+        Set<LinkResponse> result = new LinkedHashSet<>();
+        for (String tag : tags) {
+            result.addAll(byTag.getOrDefault(tag, List.of()));
+        }
+        return List.copyOf(result);
+    }
+}
@@ -0,0 +1,101 @@
+package backend.academy.bot.service.cache;
+
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.bot.config.LinkCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Сериализатор списков ссылок для Redis с выбираемым форматом и сжатием больших значений.
+ *
+ * <p>Первый байт значения описывает его кодировку: младшие биты - формат, старший бит - сжатие Deflate. Поэтому
+ * значения, записанные репликой с другими настройками, читаются без ошибок, а переключение формата не требует сброса
+ * кэша. Значения без заголовка (обычный JSON) тоже читаются.
+ */
+public final class VersionedLinksSerializer implements RedisSerializer<VersionedLinks> {
+
+    private static final byte JSON = 1;
+    private static final byte SMILE = 2;
+    private static final byte COMPRESSED = (byte) 0x80;
+    private static final byte FORMAT_MASK = 0x7F;
+    private static final byte LEGACY_JSON_START = '{';
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final LinkCacheProperties.Codec codec;
+    private final long compressionThreshold;
+
+    public VersionedLinksSerializer(LinkCacheProperties.Codec codec, long compressionThreshold) {
+        this.jsonMapper = new ObjectMapper().findAndRegisterModules();
+        this.smileMapper = SmileMapper.builder().findAndAddModules().build();
+        this.codec = codec;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(VersionedLinks value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            byte format = codec == LinkCacheProperties.Codec.SMILE ? SMILE : JSON;
+            byte[] encoded = mapper(format).writeValueAsBytes(value);
+            boolean compress = encoded.length >= compressionThreshold;
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compress ? encoded.length / 2 : encoded.length + 1);
+            out.write(compress ? format | COMPRESSED : format);
+            if (compress) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+                    deflate.write(encoded);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                out.write(encoded);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize cached links", e);
+        }
+    }
+
+    @Override
+    public VersionedLinks deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (bytes[0] == LEGACY_JSON_START) {
+                return jsonMapper.readValue(bytes, VersionedLinks.class);
+            }
+            byte format = (byte) (bytes[0] & FORMAT_MASK);
+            InputStream in = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            if ((bytes[0] & COMPRESSED) != 0) {
+                in = new InflaterInputStream(in);
+            }
+            try (InputStream body = in) {
+                return mapper(format).readValue(body, VersionedLinks.class);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not deserialize cached links", e);
+        }
+    }
+
+    private ObjectMapper mapper(byte format) throws IOException {
+        return switch (format) {
+            case JSON -> jsonMapper;
+            case SMILE -> smileMapper;
+            default -> throw new IOException("Unknown cached links format: " + format);
+        };
+    }
+}
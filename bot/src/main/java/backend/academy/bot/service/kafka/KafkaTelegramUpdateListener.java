@@ -0,0 +1,35 @@
+package backend.academy.bot.service.kafka;
+
+import backend.academy.bot.service.bot.BotService;
+import backend.academy.bot.service.telegram.UpdateDeduplicator;
+import com.pengrad.telegrambot.BotUtils;
+import com.pengrad.telegrambot.model.Update;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/** Обработка обновлений Telegram, опубликованных опрашивающим лидером. Каждая реплика получает свою долю партиций. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "telegram.ingestion.mode", havingValue = "LEADER_POLLING")
+public class KafkaTelegramUpdateListener {
+
+    private final BotService botService;
+    private final UpdateDeduplicator deduplicator;
+
+    @KafkaListener(topics = "${kafka.topics.telegram-updates}", groupId = "bot-telegram-updates")
+    public void listen(ConsumerRecord<String, String> record) {
+        Update update = BotUtils.parseUpdate(record.value());
+        if (update == null) {
+            log.warn("Skipping unreadable telegram update at offset {}", record.offset());
+            return;
+        }
+        if (deduplicator.firstSeen(update.updateId())) {
+            botService.acceptUpdate(update);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package backend.academy.bot.service.telegram;
+
+import backend.academy.bot.client.TelegramClient;
+import backend.academy.bot.client.dto.telegram.TelegramApiResponse;
+import backend.academy.bot.config.TelegramProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Единая очередь исходящих сообщений Telegram.
+ *
+ * <p>Все отправки проходят через глобальный token bucket (лимит бота) и попчатовую очередь с минимальным интервалом
+ * между сообщениями. Ответ 429 переносит отправку чата на {@code retry_after} секунд, сообщение при этом не теряется и
+ * порядок внутри чата сохраняется.
+ *
+ * <p>Уведомления об обновлениях ссылок, поставленные через {@link #enqueueNotification}, копятся в очереди чата в
+ * течение окна {@code coalesce-window} и отправляются одним сообщением, насколько позволяет лимит Telegram в
+ * {@value #MAX_MESSAGE_LENGTH} символов. Слишком длинные тексты разбиваются на части по границам строк.
+ *
+ * <p>Отправка неблокирующая: поток диспетчера только выбирает следующий чат, а ответ Telegram обрабатывается в
+ * колбэке {@link TelegramClient}.
+ */
+@Service
+public class TelegramMessageDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramMessageDispatcher.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+    static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final String NOTIFICATION_SEPARATOR = "\n\n";
+    private static final long CLEANUP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final TelegramClient telegramClient;
+    private final TelegramProperties.Outbound properties;
+    private final Bucket globalBucket;
+    private final Map<Long, ChatQueue> chatQueues = new ConcurrentHashMap<>();
+    private final DelayQueue<ChatQueue> readyChats = new DelayQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+    private final Counter rescheduledCounter;
+    private final Counter coalescedCounter;
+
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    public TelegramMessageDispatcher(
+            TelegramClient telegramClient, TelegramProperties telegramProperties, MeterRegistry registry) {
+        this.telegramClient = telegramClient;
+        this.properties = telegramProperties.outbound();
+        int rate = properties.globalRate();
+        this.globalBucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(rate, Refill.greedy(rate, Duration.ofSeconds(1))))
+                .build();
+
+        Gauge.builder("telegram.outbound.queue.depth", depth, AtomicInteger::get)
+                .description("Сообщения, ожидающие отправки в Telegram")
+                .register(registry);
+        this.waitTimer = Timer.builder("telegram.outbound.wait")
+                .description("Время ожидания сообщения в очереди до отправки")
+                .register(registry);
+        this.sentCounter = Counter.builder("telegram.outbound.sent").register(registry);
+        this.droppedCounter = Counter.builder("telegram.outbound.dropped").register(registry);
+        this.rescheduledCounter = Counter.builder("telegram.outbound.rescheduled").register(registry);
+        this.coalescedCounter = Counter.builder("telegram.outbound.coalesced")
+                .description("Уведомления, объединенные с предыдущими в одно сообщение")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcherThread = Thread.ofPlatform()
+                .name("telegram-outbound")
+                .daemon()
+                .start(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcherThread != null) {
+            dispatcherThread.interrupt();
+        }
+    }
+
+    /**
+     * Ставит сообщение в очередь на отправку.
+     *
+     * @param chatId Идентификатор чата получателя.
+     * @param text Текст сообщения.
+     * @return {@code false}, если очередь переполнена и сообщение отброшено.
+     */
+    public boolean enqueue(Long chatId, String text) {
+        return enqueue(chatId, text, false);
+    }
+
+    /**
+     * Ставит уведомление об обновлении в очередь на отправку. Уведомления одного чата, накопившиеся за окно
+     * объединения, уходят одним сообщением.
+     *
+     * @param chatId Идентификатор чата получателя.
+     * @param text Текст уведомления.
+     * @return {@code false}, если очередь переполнена и уведомление отброшено.
+     */
+    public boolean enqueueNotification(Long chatId, String text) {
+        return enqueue(chatId, text, true);
+    }
+
+    private boolean enqueue(Long chatId, String text, boolean coalescible) {
+        List<String> parts = split(text);
+        if (depth.addAndGet(parts.size()) > properties.queueCapacity()) {
+            depth.addAndGet(-parts.size());
+            droppedCounter.increment(parts.size());
+            logger.warn("Очередь исходящих сообщений переполнена, сообщение отброшено chatId: {}", chatId);
+            return false;
+        }
+
+        long now = System.nanoTime();
+        chatQueues.compute(chatId, (id, current) -> {
+            ChatQueue queue = current != null ? current : new ChatQueue(id);
+            synchronized (queue) {
+                for (String part : parts) {
+                    queue.messages.addLast(new OutboundMessage(chatId, part, now, coalescible, 1));
+                }
+                if (!queue.scheduled) {
+                    queue.scheduled = true;
+                    long window = coalescible ? properties.coalesceWindow().toNanos() : 0;
+                    queue.readyAt = Math.max(queue.nextAllowedAt, now + window);
+                    readyChats.offer(queue);
+                }
+            }
+            return queue;
+        });
+        return true;
+    }
+
+    /**
+     * Возвращает число сообщений, ожидающих отправки.
+     *
+     * @return Глубина очереди.
+     */
+    public int queueDepth() {
+        return depth.get();
+    }
+
+    private void dispatchLoop() {
+        long lastCleanup = System.nanoTime();
+        while (running) {
+            try {
+                ChatQueue queue = readyChats.poll(1, TimeUnit.SECONDS);
+                if (queue != null) {
+                    globalBucket.asBlocking().consume(1);
+                    OutboundMessage message;
+                    synchronized (queue) {
+                        message = coalesceHead(queue);
+                    }
+                    send(queue, message);
+                }
+                if (System.nanoTime() - lastCleanup > CLEANUP_INTERVAL_NANOS) {
+                    removeIdleQueues();
+                    lastCleanup = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Ошибка в цикле отправки сообщений Telegram", e);
+            }
+        }
+    }
+
+    private void send(ChatQueue queue, OutboundMessage message) {
+        waitTimer.record(System.nanoTime() - message.enqueuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            telegramClient
+                    .sendMessage(message.chatId(), message.text())
+                    .subscribe(
+                            response -> onResponse(queue, message, response),
+                            error -> onError(queue, message, error));
+        } catch (RuntimeException e) {
+            onError(queue, message, e);
+        }
+    }
+
+    private void onResponse(ChatQueue queue, OutboundMessage message, TelegramApiResponse response) {
+        if (response.ok()) {
+            sentCounter.increment();
+            complete(queue);
+        } else if (response.errorCode() != null && response.errorCode() == TOO_MANY_REQUESTS) {
+            Integer retryAfter = response.retryAfter();
+            Duration delay = retryAfter != null ? Duration.ofSeconds(retryAfter) : properties.perChatInterval();
+            logger.warn("Telegram вернул 429 chatId: {}, повтор через {}", message.chatId(), delay);
+            rescheduledCounter.increment();
+            reschedule(queue, delay);
+        } else {
+            logger.error(
+                    "Telegram отклонил сообщение chatId: {}, code: {}, description: {}",
+                    message.chatId(),
+                    response.errorCode(),
+                    response.description());
+            droppedCounter.increment();
+            complete(queue);
+        }
+    }
+
+    private void onError(ChatQueue queue, OutboundMessage message, Throwable error) {
+        if (queue.attempts + 1 < properties.maxAttempts()) {
+            queue.attempts++;
+            logger.warn("Ошибка отправки сообщения chatId: {}, попытка {}", message.chatId(), queue.attempts, error);
+            rescheduledCounter.increment();
+            reschedule(queue, properties.retryBackoff());
+        } else {
+            logger.error(
+                    "Сообщение не отправлено после {} попыток chatId: {}", queue.attempts + 1, message.chatId(), error);
+            droppedCounter.increment();
+            complete(queue);
+        }
+    }
+
+    private void complete(ChatQueue queue) {
+        synchronized (queue) {
+            OutboundMessage sent = queue.messages.pollFirst();
+            queue.attempts = 0;
+            depth.addAndGet(-(sent != null ? sent.parts() : 1));
+            long now = System.nanoTime();
+            queue.nextAllowedAt = now + properties.perChatInterval().toNanos();
+            if (queue.messages.isEmpty()) {
+                queue.scheduled = false;
+            } else {
+                queue.readyAt = queue.nextAllowedAt;
+                readyChats.offer(queue);
+            }
+        }
+    }
+
+    private void reschedule(ChatQueue queue, Duration delay) {
+        synchronized (queue) {
+            long now = System.nanoTime();
+            queue.nextAllowedAt = now + delay.toNanos();
+            queue.readyAt = queue.nextAllowedAt;
+            readyChats.offer(queue);
+        }
+    }
+
+    /**
+     * Удаляет очереди чатов без сообщений. Удаление и постановка в очередь идут под блокировкой ключа карты, поэтому
+     * сообщение не может попасть в уже удаленную очередь и отправителю не нужно ждать ее замены.
+     */
+    private void removeIdleQueues() {
+        long now = System.nanoTime();
+        for (Long chatId : chatQueues.keySet()) {
+            chatQueues.computeIfPresent(chatId, (id, queue) -> {
+                synchronized (queue) {
+                    boolean idle = !queue.scheduled && queue.messages.isEmpty() && now - queue.nextAllowedAt > 0;
+                    return idle ? null : queue;
+                }
+            });
+        }
+    }
+
+    /**
+     * Объединяет уведомления в начале очереди чата в одно сообщение, пока оно укладывается в лимит длины.
+     * Вызывается под монитором очереди.
+     */
+    private OutboundMessage coalesceHead(ChatQueue queue) {
+        OutboundMessage head = queue.messages.pollFirst();
+        if (head == null || !head.coalescible()) {
+            if (head != null) {
+                queue.messages.addFirst(head);
+            }
+            return head;
+        }
+        StringBuilder text = new StringBuilder(head.text());
+        int parts = head.parts();
+        OutboundMessage next;
+        while ((next = queue.messages.peekFirst()) != null
+                && next.coalescible()
+                && text.length() + NOTIFICATION_SEPARATOR.length() + next.text().length() <= MAX_MESSAGE_LENGTH) {
+            queue.messages.pollFirst();
+            text.append(NOTIFICATION_SEPARATOR).append(next.text());
+            parts += next.parts();
+            coalescedCounter.increment(next.parts());
+        }
+        OutboundMessage merged = parts == head.parts()
+                ? head
+                : new OutboundMessage(head.chatId(), text.toString(), head.enqueuedAt(), true, parts);
+        queue.messages.addFirst(merged);
+        return merged;
+    }
+
+    /** Разбивает текст на части не длиннее лимита Telegram, по возможности по переводам строк. */
+    static List<String> split(String text) {
+        if (text == null || text.length() <= MAX_MESSAGE_LENGTH) {
+            return List.of(text == null ? "" : text);
+        }
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (text.length() - start > MAX_MESSAGE_LENGTH) {
+            int end = text.lastIndexOf('\n', start + MAX_MESSAGE_LENGTH - 1);
+            if (end <= start) {
+                end = start + MAX_MESSAGE_LENGTH;
+                if (Character.isHighSurrogate(text.charAt(end - 1))) {
+                    end--;
+                }
+                parts.add(text.substring(start, end));
+                start = end;
+            } else {
+                parts.add(text.substring(start, end));
+                start = end + 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    /**
+     * Сообщение в очереди чата.
+     *
+     * @param parts Число исходных сообщений, объединенных в это.
+     */
+    private record OutboundMessage(Long chatId, String text, long enqueuedAt, boolean coalescible, int parts) {}
+
+    /** Очередь сообщений одного чата. Изменяемые поля защищены монитором самой очереди. */
+    private static final class ChatQueue implements Delayed {
+        private final Long chatId;
+        private final Deque<OutboundMessage> messages = new ArrayDeque<>();
+        private volatile long readyAt;
+        private long nextAllowedAt;
+        private int attempts;
+        private boolean scheduled;
+
+        ChatQueue(Long chatId) {
+            this.chatId = chatId;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof ChatQueue queue) {
+                int byTime = Long.compare(readyAt, queue.readyAt);
+                return byTime != 0 ? byTime : Long.compare(chatId, queue.chatId);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
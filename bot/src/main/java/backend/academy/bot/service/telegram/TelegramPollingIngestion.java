@@ -0,0 +1,65 @@
+package backend.academy.bot.service.telegram;
+
+import backend.academy.bot.service.bot.BotService;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.request.DeleteWebhook;
+import com.pengrad.telegrambot.response.BaseResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Получение обновлений через long polling. Токен может опрашивать только один процесс.
+ *
+ * <p>Перед опросом бот снимает webhook, оставшийся после режима {@code WEBHOOK}: пока он зарегистрирован, Telegram
+ * отвечает на getUpdates ошибкой 409.
+ */
+@Component
+@ConditionalOnProperty(name = "telegram.ingestion.mode", havingValue = "POLLING", matchIfMissing = true)
+public class TelegramPollingIngestion {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramPollingIngestion.class);
+
+    private final TelegramBot bot;
+    private final BotService botService;
+
+    public TelegramPollingIngestion(TelegramBot bot, BotService botService) {
+        this.bot = bot;
+        this.botService = botService;
+    }
+
+    @PostConstruct
+    public void start() {
+        deleteWebhook(bot, logger);
+        bot.setUpdatesListener(updates -> {
+            updates.forEach(botService::acceptUpdate);
+            return UpdatesListener.CONFIRMED_UPDATES_ALL;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        bot.removeGetUpdatesListener();
+    }
+
+    /**
+     * Снимает webhook, чтобы Telegram отдавал обновления через getUpdates. Накопленные обновления сохраняются. Ошибка
+     * только логируется: при ней опрос сам будет получать 409 и повторять запросы.
+     */
+    static void deleteWebhook(TelegramBot bot, Logger logger) {
+        try {
+            BaseResponse response = bot.execute(new DeleteWebhook());
+            if (response == null || !response.isOk()) {
+                logger.warn(
+                        "Could not delete Telegram webhook: {}",
+                        response != null ? response.description() : "no response");
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not delete Telegram webhook", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package backend.academy.bot.service.telegram;
+
+import backend.academy.bot.config.TelegramProperties;
+import com.google.gson.Gson;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.model.Update;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Long polling одной выбранной репликой с раздачей обновлений всем репликам через Kafka.
+ *
+ * <p>Реплики соревнуются за аренду ключа в Redis. Лидер продлевает аренду каждую треть срока и, пока она за ним,
+ * опрашивает Telegram и публикует обновления в топик с ключом по идентификатору чата, так что обновления одного чата
+ * попадают в одну партицию и обрабатываются одной репликой по порядку. Обновления подтверждаются Telegram только после
+ * записи в Kafka. Если лидер перестал продлевать аренду, через {@code leader-lease} ее забирает другая реплика.
+ */
+@Component
+@ConditionalOnProperty(name = "telegram.ingestion.mode", havingValue = "LEADER_POLLING")
+public class TelegramPollingLeader {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramPollingLeader.class);
+    private static final String LEADER_KEY = "telegram-poller::leader";
+
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """,
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """,
+            Long.class);
+
+    private final TelegramBot bot;
+    private final StringRedisTemplate redisTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Gson gson = new Gson();
+    private final ScheduledExecutorService election = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("telegram-poller-election").daemon().factory());
+
+    private volatile boolean leader;
+
+    public TelegramPollingLeader(
+            TelegramBot bot,
+            StringRedisTemplate redisTemplate,
+            KafkaTemplate<String, String> kafkaTemplate,
+            TelegramProperties telegramProperties,
+            @Value("${kafka.topics.telegram-updates}") String topic) {
+        this.bot = bot;
+        this.redisTemplate = redisTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.lease = telegramProperties.ingestion().leaderLease();
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = Math.max(1, lease.toMillis() / 3);
+        election.scheduleWithFixedDelay(this::tick, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        election.shutdownNow();
+        if (leader) {
+            stopPolling();
+            try {
+                // освобождаем аренду сразу, чтобы другая реплика не ждала ее истечения
+                redisTemplate.execute(RELEASE, List.of(LEADER_KEY), instanceId);
+            } catch (RuntimeException e) {
+                logger.warn("Could not release telegram poller lease", e);
+            }
+        }
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    private void tick() {
+        boolean holds;
+        try {
+            holds = leader ? renew() : acquire();
+        } catch (RuntimeException e) {
+            // без Redis нельзя подтвердить лидерство, поэтому опрос останавливается
+            logger.warn("Telegram poller lease check failed", e);
+            holds = false;
+        }
+        if (holds && !leader) {
+            startPolling();
+        } else if (!holds && leader) {
+            stopPolling();
+        }
+    }
+
+    private boolean acquire() {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LEADER_KEY, instanceId, lease));
+    }
+
+    private boolean renew() {
+        Long renewed = redisTemplate.execute(RENEW, List.of(LEADER_KEY), instanceId, String.valueOf(lease.toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    private void startPolling() {
+        leader = true;
+        logger.info("Became telegram poller leader: {}", instanceId);
+        TelegramPollingIngestion.deleteWebhook(bot, logger);
+        bot.setUpdatesListener(this::publish);
+    }
+
+    private void stopPolling() {
+        leader = false;
+        logger.info("Lost telegram poller leadership: {}", instanceId);
+        bot.removeGetUpdatesListener();
+    }
+
+    private int publish(List<Update> updates) {
+        if (!leader) {
+            return UpdatesListener.CONFIRMED_UPDATES_NONE;
+        }
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            Update update = updates.get(i);
+            String key = update.message() != null ? String.valueOf(update.message().chat().id()) : null;
+            sends[i] = kafkaTemplate.send(topic, key, gson.toJson(update));
+        }
+        try {
+            CompletableFuture.allOf(sends).get(lease.toMillis(), TimeUnit.MILLISECONDS);
+            return UpdatesListener.CONFIRMED_UPDATES_ALL;
+        } catch (ExecutionException | TimeoutException e) {
+            // неподтвержденные обновления придут снова, повторы отсекает UpdateDeduplicator
+            logger.error("Could not publish telegram updates", e);
+            return UpdatesListener.CONFIRMED_UPDATES_NONE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return UpdatesListener.CONFIRMED_UPDATES_NONE;
+        }
+    }
+}
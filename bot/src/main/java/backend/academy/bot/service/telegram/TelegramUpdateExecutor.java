@@ -0,0 +1,123 @@
+package backend.academy.bot.service.telegram;
+
+import backend.academy.bot.config.TelegramProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Параллельная обработка входящих обновлений Telegram с сохранением порядка внутри чата.
+ *
+ * <p>Чаты распределяются по {@code stripes} очередям по идентификатору. Каждую очередь разбирает свой виртуальный
+ * поток и дожидается завершения обработки обновления перед следующим, поэтому сообщения одного чата обрабатываются
+ * строго по очереди, а разные чаты - параллельно. Заполненная очередь приостанавливает поток приема обновлений.
+ */
+@Service
+public class TelegramUpdateExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramUpdateExecutor.class);
+
+    private final TelegramProperties.Inbound properties;
+    private final List<BlockingQueue<Supplier<Mono<?>>>> stripes;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+
+    public TelegramUpdateExecutor(TelegramProperties telegramProperties, MeterRegistry registry) {
+        this.properties = telegramProperties.inbound();
+        this.stripes = new ArrayList<>(properties.stripes());
+        for (int i = 0; i < properties.stripes(); i++) {
+            stripes.add(new ArrayBlockingQueue<>(properties.queueCapacity()));
+        }
+
+        Gauge.builder("telegram.inbound.queue.depth", depth, AtomicInteger::get)
+                .description("Входящие обновления, ожидающие обработки")
+                .register(registry);
+        Gauge.builder("telegram.inbound.queue.max-stripe-depth", this, TelegramUpdateExecutor::maxStripeDepth)
+                .description("Длина самой загруженной очереди входящих обновлений")
+                .register(registry);
+        this.failedCounter = Counter.builder("telegram.inbound.failed").register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < stripes.size(); i++) {
+            BlockingQueue<Supplier<Mono<?>>> queue = stripes.get(i);
+            workers.add(Thread.ofVirtual()
+                    .name("telegram-inbound-" + i)
+                    .start(() -> workLoop(queue)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Ставит обработку обновления в очередь чата. Если очередь заполнена, вызывающий поток ждет освобождения места.
+     *
+     * @param chatId Идентификатор чата, определяющий очередь.
+     * @param work Обработка обновления; следующее обновление чата начнет обрабатываться после ее завершения.
+     */
+    public void submit(Long chatId, Supplier<Mono<?>> work) {
+        try {
+            depth.incrementAndGet();
+            stripes.get(Math.floorMod(Long.hashCode(chatId), stripes.size())).put(work);
+        } catch (InterruptedException e) {
+            depth.decrementAndGet();
+            Thread.currentThread().interrupt();
+            logger.warn("Прием обновления прерван chatId: {}", chatId);
+        }
+    }
+
+    public int queueDepth() {
+        return depth.get();
+    }
+
+    private int maxStripeDepth() {
+        int max = 0;
+        for (BlockingQueue<?> queue : stripes) {
+            max = Math.max(max, queue.size());
+        }
+        return max;
+    }
+
+    private void workLoop(BlockingQueue<Supplier<Mono<?>>> queue) {
+        Duration timeout = properties.handlerTimeout();
+        while (running) {
+            Supplier<Mono<?>> work;
+            try {
+                work = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                work.get().timeout(timeout).then().block();
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                logger.error("Ошибка обработки входящего обновления", e);
+            } finally {
+                depth.decrementAndGet();
+            }
+        }
+    }
+}
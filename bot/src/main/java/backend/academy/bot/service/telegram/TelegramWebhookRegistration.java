@@ -0,0 +1,50 @@
+package backend.academy.bot.service.telegram;
+
+import backend.academy.bot.config.TelegramProperties;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.request.SetWebhook;
+import com.pengrad.telegrambot.response.BaseResponse;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Регистрирует webhook в Telegram при старте. Если {@code telegram.ingestion.webhook-url} не задан, webhook считается
+ * зарегистрированным извне (например, при деплое), и бот только принимает запросы.
+ */
+@Component
+@ConditionalOnProperty(name = "telegram.ingestion.mode", havingValue = "WEBHOOK")
+public class TelegramWebhookRegistration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramWebhookRegistration.class);
+
+    private final TelegramBot bot;
+    private final TelegramProperties.Ingestion properties;
+
+    public TelegramWebhookRegistration(TelegramBot bot, TelegramProperties telegramProperties) {
+        this.bot = bot;
+        this.properties = telegramProperties.ingestion();
+        if (properties.secretToken() == null || properties.secretToken().isBlank()) {
+            throw new IllegalStateException("telegram.ingestion.secret-token must be set in WEBHOOK mode");
+        }
+    }
+
+    @PostConstruct
+    public void register() {
+        if (properties.webhookUrl() == null || properties.webhookUrl().isBlank()) {
+            logger.info("Webhook URL is not configured, expecting it to be registered externally");
+            return;
+        }
+        BaseResponse response = bot.execute(new SetWebhook()
+                .url(properties.webhookUrl())
+                .secretToken(properties.secretToken())
+                .allowedUpdates("message"));
+        if (response == null || !response.isOk()) {
+            throw new IllegalStateException("Could not register Telegram webhook: "
+                    + (response != null ? response.description() : "no response"));
+        }
+        logger.info("Telegram webhook registered: {}", properties.webhookUrl());
+    }
+}
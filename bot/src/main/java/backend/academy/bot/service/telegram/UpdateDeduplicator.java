@@ -0,0 +1,57 @@
+package backend.academy.bot.service.telegram;
+
+import backend.academy.bot.config.TelegramProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Отсекает повторные доставки обновлений по {@code update_id}.
+ *
+ * <p>Telegram повторяет запрос к webhook, если не получил ответ вовремя, а новый лидер long polling заново получает
+ * неподтвержденные обновления. Повтор может попасть на другую реплику, поэтому увиденные идентификаторы отмечаются в
+ * Redis. Локальный кэш отвечает на повторы без обращения к Redis и остается единственной защитой, если Redis
+ * недоступен.
+ */
+@Component
+public class UpdateDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpdateDeduplicator.class);
+    private static final String KEY_PREFIX = "telegram-update::";
+    private static final long MAX_LOCAL_IDS = 100_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Cache<Integer, Boolean> seen;
+
+    public UpdateDeduplicator(StringRedisTemplate redisTemplate, TelegramProperties telegramProperties) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = telegramProperties.ingestion().dedupeTtl();
+        this.seen = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(MAX_LOCAL_IDS)
+                .build();
+    }
+
+    /**
+     * Отмечает обновление как полученное.
+     *
+     * @param updateId Идентификатор обновления Telegram.
+     * @return {@code true}, если обновление получено впервые.
+     */
+    public boolean firstSeen(int updateId) {
+        if (seen.asMap().putIfAbsent(updateId, Boolean.TRUE) != null) {
+            return false;
+        }
+        try {
+            return !Boolean.FALSE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + updateId, "1", ttl));
+        } catch (RuntimeException e) {
+            logger.warn("Update deduplication in Redis failed, update_id: {}", updateId, e);
+            return true;
+        }
+    }
+}
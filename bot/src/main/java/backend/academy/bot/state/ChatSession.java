@@ -0,0 +1,50 @@
+package backend.academy.bot.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Состояние диалога с одним чатом: текущий шаг и данные, накопленные для /track.
+ *
+ * @param state Текущий шаг диалога.
+ * @param pendingLink Ссылка, ожидающая добавления.
+ * @param pendingTags Теги для ожидающей ссылки.
+ * @param pendingFilters Фильтры для ожидающей ссылки.
+ */
+public record ChatSession(TrackState state, URI pendingLink, List<String> pendingTags, List<String> pendingFilters) {
+
+    /** Сессия чата, с которым не ведется диалог. Такие сессии не хранятся. */
+    public static final ChatSession IDLE = new ChatSession(TrackState.IDLE, null, List.of(), List.of());
+
+    public ChatSession {
+        state = state != null ? state : TrackState.IDLE;
+        pendingTags = pendingTags != null ? List.copyOf(pendingTags) : List.of();
+        pendingFilters = pendingFilters != null ? List.copyOf(pendingFilters) : List.of();
+    }
+
+    public ChatSession withState(TrackState newState) {
+        return new ChatSession(newState, pendingLink, pendingTags, pendingFilters);
+    }
+
+    public ChatSession withPendingLink(URI link) {
+        return new ChatSession(state, link, pendingTags, pendingFilters);
+    }
+
+    public ChatSession withPendingTags(List<String> tags) {
+        return new ChatSession(state, pendingLink, tags, pendingFilters);
+    }
+
+    public ChatSession withPendingFilters(List<String> filters) {
+        return new ChatSession(state, pendingLink, pendingTags, filters);
+    }
+
+    public ChatSession withoutPendingData() {
+        return new ChatSession(state, null, List.of(), List.of());
+    }
+
+    @JsonIgnore
+    public boolean isIdle() {
+        return equals(IDLE);
+    }
+}
@@ -0,0 +1,23 @@
+package backend.academy.bot.state;
+
+import java.util.function.UnaryOperator;
+
+/** Хранилище сессий диалогов. Сессии без активности дольше {@code conversation.idle-timeout} удаляются. */
+public interface ChatSessionStore {
+
+    /**
+     * Возвращает сессию чата.
+     *
+     * @param chatId Идентификатор чата.
+     * @return Сессия чата или {@link ChatSession#IDLE}, если диалог не ведется.
+     */
+    ChatSession get(Long chatId);
+
+    /**
+     * Изменяет сессию чата. Если в результате сессия становится {@link ChatSession#IDLE}, она удаляется.
+     *
+     * @param chatId Идентификатор чата.
+     * @param update Функция изменения сессии.
+     */
+    void update(Long chatId, UnaryOperator<ChatSession> update);
+}
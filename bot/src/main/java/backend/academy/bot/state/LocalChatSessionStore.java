@@ -0,0 +1,37 @@
+package backend.academy.bot.state;
+
+import backend.academy.bot.config.ConversationProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.function.UnaryOperator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Сессии в памяти узла. Изменение одной сессии атомарно, число сессий ограничено. */
+@Component
+@ConditionalOnProperty(name = "conversation.backend", havingValue = "LOCAL", matchIfMissing = true)
+public class LocalChatSessionStore implements ChatSessionStore {
+
+    private final Cache<Long, ChatSession> sessions;
+
+    public LocalChatSessionStore(ConversationProperties properties) {
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(properties.maxSessions())
+                .build();
+    }
+
+    @Override
+    public ChatSession get(Long chatId) {
+        ChatSession session = sessions.getIfPresent(chatId);
+        return session != null ? session : ChatSession.IDLE;
+    }
+
+    @Override
+    public void update(Long chatId, UnaryOperator<ChatSession> update) {
+        sessions.asMap().compute(chatId, (id, current) -> {
+            ChatSession updated = update.apply(current != null ? current : ChatSession.IDLE);
+            return updated.isIdle() ? null : updated;
+        });
+    }
+}
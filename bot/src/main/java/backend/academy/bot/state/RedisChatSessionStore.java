@@ -0,0 +1,100 @@
+package backend.academy.bot.state;
+
+import backend.academy.bot.config.ConversationProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сессии в Redis, общие для всех реплик бота: следующее сообщение пользователя может обработать любая реплика. Каждое
+ * обращение продлевает время жизни сессии.
+ *
+ * <p>Изменение атомарно: новое значение записывается скриптом, только если сессия не изменилась с момента чтения, иначе
+ * изменение применяется заново к свежему значению. Обращения к Redis блокирующие, поэтому вызывать хранилище нужно не
+ * из потоков event loop.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "conversation.backend", havingValue = "REDIS")
+public class RedisChatSessionStore implements ChatSessionStore {
+
+    private static final String KEY_PREFIX = "chat-session::";
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            """
+            if (redis.call('GET', KEYS[1]) or '') ~= ARGV[1] then
+                return 0
+            end
+            if ARGV[2] == '' then
+                redis.call('DEL', KEYS[1])
+            else
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            end
+            return 1
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration idleTimeout;
+
+    public RedisChatSessionStore(StringRedisTemplate redisTemplate, ConversationProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = new ObjectMapper().findAndRegisterModules();
+        this.idleTimeout = properties.idleTimeout();
+    }
+
+    @Override
+    public ChatSession get(Long chatId) {
+        return read(chatId, redisTemplate.opsForValue().getAndExpire(KEY_PREFIX + chatId, idleTimeout));
+    }
+
+    @Override
+    public void update(Long chatId, UnaryOperator<ChatSession> update) {
+        String key = KEY_PREFIX + chatId;
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            String current = redisTemplate.opsForValue().getAndExpire(key, idleTimeout);
+            ChatSession updated = update.apply(read(chatId, current));
+            Long applied = redisTemplate.execute(
+                    COMPARE_AND_SET,
+                    List.of(key),
+                    current != null ? current : "",
+                    updated.isIdle() ? "" : write(chatId, updated),
+                    String.valueOf(idleTimeout.toMillis()));
+            if (applied != null && applied == 1L) {
+                return;
+            }
+            log.debug("Session of chat {} changed concurrently, retrying update", chatId);
+        }
+        throw new IllegalStateException("Could not update session of chat " + chatId + ": too many concurrent updates");
+    }
+
+    private ChatSession read(Long chatId, String value) {
+        if (value == null) {
+            return ChatSession.IDLE;
+        }
+        try {
+            return objectMapper.readValue(value, ChatSession.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable session of chat {}", chatId, e);
+            return ChatSession.IDLE;
+        }
+    }
+
+    private String write(Long chatId, ChatSession session) {
+        try {
+            return objectMapper.writeValueAsString(session);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize session of chat " + chatId, e);
+        }
+    }
+}
@@ -1,22 +1,23 @@
 package backend.academy.bot.state;
 
 import java.net.URI;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+/**
+ * Состояние диалогов с чатами. Данные чата хранятся одной {@link ChatSession} в {@link ChatSessionStore}, поэтому
+ * обращения из разных потоков безопасны, а завершенные и заброшенные диалоги не занимают память.
+ */
+@Slf4j
 @Component
 public class StateMachine {
 
-    private static final Logger logger = LoggerFactory.getLogger(StateMachine.class);
-    private final Map<Long, TrackState> states = new HashMap<>();
-    private final Map<Long, URI> pendingLinks = new HashMap<>();
-    private final Map<Long, List<String>> pendingTags = new HashMap<>();
-    private final Map<Long, List<String>> pendingFilters = new HashMap<>();
+    private final ChatSessionStore sessionStore;
+
+    public StateMachine(ChatSessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
 
     /**
      * Возвращает текущее состояние чата.
@@ -25,13 +26,7 @@ public class StateMachine {
      * @return Текущее состояние чата. Если состояние не установлено, возвращается {@link TrackState#IDLE}.
      */
     public TrackState getState(Long chatId) {
-        TrackState state = states.getOrDefault(chatId, TrackState.IDLE);
-        logger.atDebug()
-                .setMessage("Получение состояния")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("state", state)
-                .log();
-        return state;
+        return sessionStore.get(chatId).state();
     }
 
     /**
@@ -41,12 +36,8 @@ public class StateMachine {
      * @param state Новое состояние чата.
      */
     public void setState(Long chatId, TrackState state) {
-        logger.atInfo()
-                .setMessage("Установка состояния")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("state", state)
-                .log();
-        states.put(chatId, state);
+        log.debug("Установка состояния chatId: {}, state: {}", chatId, state);
+        sessionStore.update(chatId, session -> session.withState(state));
     }
 
     /**
@@ -56,12 +47,8 @@ public class StateMachine {
      * @param link Ссылка, которую необходимо сохранить.
      */
     public void setPendingLink(Long chatId, URI link) {
-        logger.atInfo()
-                .setMessage("Установка ожидаемой ссылки")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("link", link)
-                .log();
-        pendingLinks.put(chatId, link);
+        log.debug("Установка ожидаемой ссылки chatId: {}, link: {}", chatId, link);
+        sessionStore.update(chatId, session -> session.withPendingLink(link));
     }
 
     /**
@@ -71,13 +58,7 @@ public class StateMachine {
      * @return Ожидаемая ссылка. Если ссылка не установлена, возвращается null.
      */
     public URI getPendingLink(Long chatId) {
-        URI link = pendingLinks.get(chatId);
-        logger.atDebug()
-                .setMessage("Получение ожидаемой ссылки")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("link", link)
-                .log();
-        return link;
+        return sessionStore.get(chatId).pendingLink();
     }
 
     /**
@@ -87,12 +68,8 @@ public class StateMachine {
      * @param tags Список тегов, которые необходимо сохранить.
      */
     public void setPendingTags(Long chatId, List<String> tags) {
-        logger.atInfo()
-                .setMessage("Установка ожидаемых тегов")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("tags", tags)
-                .log();
-        pendingTags.put(chatId, tags);
+        log.debug("Установка ожидаемых тегов chatId: {}, tags: {}", chatId, tags);
+        sessionStore.update(chatId, session -> session.withPendingTags(tags));
     }
 
     /**
@@ -102,13 +79,7 @@ public class StateMachine {
      * @return Список ожидаемых тегов. Если теги не установлены, возвращается пустой список.
      */
     public List<String> getPendingTags(Long chatId) {
-        List<String> tags = pendingTags.getOrDefault(chatId, Collections.emptyList());
-        logger.atDebug()
-                .setMessage("Получение ожидаемых тегов")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("tags", tags)
-                .log();
-        return tags;
+        return sessionStore.get(chatId).pendingTags();
     }
 
     /**
@@ -118,12 +89,8 @@ public class StateMachine {
      * @param filters Список фильтров, которые необходимо сохранить.
      */
     public void setPendingFilters(Long chatId, List<String> filters) {
-        logger.atInfo()
-                .setMessage("Установка ожидаемых фильтров")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("filters", filters)
-                .log();
-        pendingFilters.put(chatId, filters);
+        log.debug("Установка ожидаемых фильтров chatId: {}, filters: {}", chatId, filters);
+        sessionStore.update(chatId, session -> session.withPendingFilters(filters));
     }
 
     /**
@@ -133,13 +100,7 @@ public class StateMachine {
      * @return Список ожидаемых фильтров. Если фильтры не установлены, возвращается пустой список.
      */
     public List<String> getPendingFilters(Long chatId) {
-        List<String> filters = pendingFilters.getOrDefault(chatId, Collections.emptyList());
-        logger.atDebug()
-                .setMessage("Получение ожидаемых фильтров")
-                .addKeyValue("chatId", chatId)
-                .addKeyValue("filters", filters)
-                .log();
-        return filters;
+        return sessionStore.get(chatId).pendingFilters();
     }
 
     /**
@@ -148,12 +109,7 @@ public class StateMachine {
      * @param chatId Идентификатор чата.
      */
     public void clearPendingData(Long chatId) {
-        logger.atInfo()
-                .setMessage("Очистка ожидаемых данных")
-                .addKeyValue("chatId", chatId)
-                .log();
-        pendingLinks.remove(chatId);
-        pendingTags.remove(chatId);
-        pendingFilters.remove(chatId);
+        log.debug("Очистка ожидаемых данных chatId: {}", chatId);
+        sessionStore.update(chatId, ChatSession::withoutPendingData);
     }
 }
@@ -0,0 +1,77 @@
+package backend.academy.bot;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import backend.academy.bot.service.telegram.TelegramMessageDispatcher;
+import backend.academy.dto.request.LinkUpdateRequest;
+import com.pengrad.telegrambot.TelegramBot;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = "app.message-transport=HTTP")
+class BotControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private TelegramBot telegramBot;
+
+    @MockitoBean
+    private TelegramMessageDispatcher messageDispatcher;
+
+    @Test
+    void shouldQueueEveryUpdateOfJsonBatch() {
+        List<LinkUpdateRequest> batch = List.of(
+                new LinkUpdateRequest(1L, URI.create("https://github.com/batch/one"), "first", List.of(100L, 101L)),
+                new LinkUpdateRequest(2L, URI.create("https://github.com/batch/two"), "second", List.of(102L)));
+
+        webTestClient
+                .post()
+                .uri("/links/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .exchange()
+                .expectStatus()
+                .isAccepted();
+
+        verify(messageDispatcher).enqueueNotification(100L, "first");
+        verify(messageDispatcher).enqueueNotification(101L, "first");
+        verify(messageDispatcher).enqueueNotification(102L, "second");
+        verifyNoMoreInteractions(messageDispatcher);
+    }
+
+    @Test
+    void shouldQueueEveryUpdateOfNdjsonStream() {
+        String stream =
+                """
+                {"id":1,"url":"https://github.com/stream/one","description":"first","tgChatIds":[200]}
+                {"id":2,"url":"https://github.com/stream/two","description":"second","tgChatIds":[201,202]}
+                """;
+
+        webTestClient
+                .post()
+                .uri("/links/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(stream)
+                .exchange()
+                .expectStatus()
+                .isAccepted();
+
+        verify(messageDispatcher).enqueueNotification(200L, "first");
+        verify(messageDispatcher).enqueueNotification(201L, "second");
+        verify(messageDispatcher).enqueueNotification(202L, "second");
+        verifyNoMoreInteractions(messageDispatcher);
+    }
+}
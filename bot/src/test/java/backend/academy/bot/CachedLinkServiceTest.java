@@ -4,16 +4,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 import backend.academy.bot.client.ScrapperClient;
+import backend.academy.bot.client.dto.LinkMutation;
+import backend.academy.bot.client.dto.VersionedLinks;
 import backend.academy.bot.service.cache.CachedLinkService;
 import backend.academy.dto.response.LinkResponse;
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import reactor.core.publisher.Mono;
 
@@ -27,15 +29,12 @@ class CachedLinkServiceTest {
     @Autowired
     private CachedLinkService cachedLinkService;
 
-    @Autowired
-    private RedisTemplate<String, List<LinkResponse>> redisTemplate;
-
     @Test
     void shouldCacheLinksAndInvalidateOnEvict() {
         long chatId = 123L;
         when(scrapperClient.getLinks(chatId))
-                .thenReturn(
-                        Mono.just(List.of(new LinkResponse(1L, URI.create("http://u1"), Set.of("t"), Set.of("f")))));
+                .thenReturn(Mono.just(new VersionedLinks(
+                        1L, List.of(new LinkResponse(1L, URI.create("http://u1"), Set.of("t"), Set.of("f"))))));
 
         // first call: cold, should call scrapperClient
         List<LinkResponse> first = cachedLinkService.getLinks(chatId).block();
@@ -48,11 +47,91 @@ class CachedLinkServiceTest {
         verifyNoMoreInteractions(scrapperClient);
 
         // invalidate cache
-        cachedLinkService.evictCache(chatId);
+        cachedLinkService.evictCache(chatId).block();
 
         // third call: should call scrapperClient again
         List<LinkResponse> third = cachedLinkService.getLinks(chatId).block();
         assertThat(third).hasSize(1);
         verify(scrapperClient, times(2)).getLinks(chatId);
     }
+
+    @Test
+    void shouldShareSingleScrapperCallBetweenConcurrentMisses() {
+        long chatId = 456L;
+        when(scrapperClient.getLinks(chatId))
+                .thenReturn(Mono.just(new VersionedLinks(
+                                1L, List.of(new LinkResponse(2L, URI.create("http://u2"), Set.of(), Set.of()))))
+                        .delayElement(Duration.ofMillis(300)));
+
+        List<List<LinkResponse>> results = Mono.zip(
+                        cachedLinkService.getLinks(chatId),
+                        cachedLinkService.getLinks(chatId),
+                        cachedLinkService.getLinks(chatId))
+                .map(tuple -> List.of(tuple.getT1(), tuple.getT2(), tuple.getT3()))
+                .block();
+
+        assertThat(results).hasSize(3).allSatisfy(links -> assertThat(links).hasSize(1));
+        verify(scrapperClient, times(1)).getLinks(chatId);
+    }
+
+    @Test
+    void shouldApplyConsecutiveMutationsInPlaceAndEvictOnVersionGap() {
+        long chatId = 789L;
+        LinkResponse existing = new LinkResponse(3L, URI.create("http://u3"), Set.of(), Set.of());
+        LinkResponse added = new LinkResponse(4L, URI.create("http://u4"), Set.of("t"), Set.of());
+        when(scrapperClient.getLinks(chatId)).thenReturn(Mono.just(new VersionedLinks(5L, List.of(existing))));
+
+        cachedLinkService.getLinks(chatId).block();
+        cachedLinkService.applyMutation(chatId, LinkMutation.added(added, 6L)).block();
+        cachedLinkService
+                .applyMutation(chatId, LinkMutation.removed(existing.url(), 7L))
+                .block();
+
+        assertThat(cachedLinkService.getLinks(chatId).block()).containsExactly(added);
+        verify(scrapperClient, times(1)).getLinks(chatId);
+
+        // пропущенная версия означает, что список менялся в обход этого кэша
+        cachedLinkService
+                .applyMutation(chatId, LinkMutation.removed(added.url(), 9L))
+                .block();
+
+        assertThat(cachedLinkService.getLinks(chatId).block()).containsExactly(existing);
+        verify(scrapperClient, times(2)).getLinks(chatId);
+    }
+
+    @Test
+    void shouldServeTagsAndTagFilteredLinksFromCachedList() {
+        long chatId = 321L;
+        LinkResponse work = new LinkResponse(5L, URI.create("http://u5"), Set.of("work", "java"), Set.of());
+        LinkResponse home = new LinkResponse(6L, URI.create("http://u6"), Set.of("home"), Set.of());
+        LinkResponse untagged = new LinkResponse(7L, URI.create("http://u7"), Set.of(), Set.of());
+        when(scrapperClient.getLinks(chatId))
+                .thenReturn(Mono.just(new VersionedLinks(1L, List.of(work, home, untagged))));
+
+        assertThat(cachedLinkService.getAllTags(chatId).block()).containsExactly("home", "java", "work");
+        assertThat(cachedLinkService.getLinksByTags(chatId, Set.of("work", "java")).block())
+                .containsExactly(work);
+        assertThat(cachedLinkService.getLinksByTags(chatId, Set.of("home", "work")).block())
+                .containsExactlyInAnyOrder(work, home);
+
+        verify(scrapperClient, times(1)).getLinks(chatId);
+        verify(scrapperClient, never()).getAllTags(chatId);
+    }
+
+    @Test
+    void shouldNotCacheFallbackWhenScrapperFailsOnce() {
+        long chatId = 654L;
+        LinkResponse link = new LinkResponse(8L, URI.create("http://u8"), Set.of("t"), Set.of());
+        // так выглядит ответ fallback ScrapperClient при недоступном скраппере
+        when(scrapperClient.getLinks(chatId))
+                .thenReturn(
+                        Mono.just(new VersionedLinks(null, List.of())),
+                        Mono.just(new VersionedLinks(1L, List.of(link))));
+
+        assertThat(cachedLinkService.getLinks(chatId).block()).isEmpty();
+        assertThat(cachedLinkService.getLinks(chatId).block()).containsExactly(link);
+        assertThat(cachedLinkService.getAllTags(chatId).block()).containsExactly("t");
+
+        verify(scrapperClient, times(2)).getLinks(chatId);
+    }
 }
@@ -57,5 +57,6 @@ class DtoMappingTest {
         assertThat(dto.url()).isEqualTo(new URI("http://u"));
         assertThat(dto.description()).isEqualTo("desc");
         assertThat(dto.tgChatIds()).containsExactly(100L, 200L);
+        assertThat(dto.events()).isEmpty();
     }
 }
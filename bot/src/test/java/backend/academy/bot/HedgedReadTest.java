@@ -0,0 +1,95 @@
+package backend.academy.bot;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.bot.client.ScrapperClient;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.time.Duration;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+@SpringBootTest(
+        properties = {
+            "scrapper-client.hedging.min-samples=1",
+            "scrapper-client.hedging.min-delay=50ms",
+            "scrapper-client.hedging.max-delay=200ms",
+            "resilience4j.circuitbreaker.instances.scrapperClient.sliding-window-size=5",
+            "resilience4j.circuitbreaker.instances.scrapperClient.minimum-number-of-calls=5"
+        })
+@ContextConfiguration(initializers = HedgedReadTest.WireMockInit.class)
+class HedgedReadTest {
+
+    @RegisterExtension
+    static WireMockExtension wm =
+            WireMockExtension.newInstance().options(wireMockConfig().dynamicPort()).build();
+
+    @Autowired
+    private ScrapperClient client;
+
+    static class WireMockInit implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of("app.scrapper-url=" + wm.baseUrl()).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Test
+    void shouldAnswerFromHedgedRequestWhenReplicaIsSlow() {
+        wm.stubFor(get("/tags")
+                .inScenario("hedging")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(okJson("[\"warm\"]"))
+                .willSetStateTo("slow"));
+        wm.stubFor(get("/tags")
+                .inScenario("hedging")
+                .whenScenarioStateIs("slow")
+                .willReturn(okJson("[\"slow\"]").withFixedDelay(3000))
+                .willSetStateTo("fast"));
+        wm.stubFor(get("/tags")
+                .inScenario("hedging")
+                .whenScenarioStateIs("fast")
+                .willReturn(okJson("[\"fast\"]")));
+
+        assertThat(client.getAllTags(1L).block()).containsExactly("warm");
+
+        long start = System.nanoTime();
+        Set<String> tags = client.getAllTags(1L).block();
+
+        assertThat(tags).containsExactly("fast");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        wm.verify(3, getRequestedFor(urlEqualTo("/tags")));
+    }
+
+    @Test
+    void shouldWaitForSlowPrimaryWhenHedgedRequestFails() {
+        wm.stubFor(get("/tags")
+                .inScenario("failing-hedge")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(okJson("[\"warm\"]"))
+                .willSetStateTo("slow"));
+        wm.stubFor(get("/tags")
+                .inScenario("failing-hedge")
+                .whenScenarioStateIs("slow")
+                .willReturn(okJson("[\"slow\"]").withFixedDelay(1000))
+                .willSetStateTo("broken"));
+        wm.stubFor(get("/tags")
+                .inScenario("failing-hedge")
+                .whenScenarioStateIs("broken")
+                .willReturn(serverError()));
+
+        assertThat(client.getAllTags(2L).block()).containsExactly("warm");
+
+        assertThat(client.getAllTags(2L).block()).containsExactly("slow");
+        wm.verify(3, getRequestedFor(urlEqualTo("/tags")));
+    }
+}
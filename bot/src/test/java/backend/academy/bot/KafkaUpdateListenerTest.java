@@ -4,7 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import backend.academy.bot.client.TelegramClient;
+import backend.academy.bot.client.dto.telegram.TelegramApiResponse;
 import backend.academy.dto.request.LinkUpdateRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pengrad.telegrambot.TelegramBot;
@@ -33,6 +36,7 @@ import org.springframework.util.backoff.FixedBackOff;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Mono;
 
 @SpringBootTest(
         properties = {
@@ -59,6 +63,9 @@ class KafkaUpdateListenerTest {
     @MockitoBean
     private TelegramBot telegramBot;
 
+    @MockitoBean
+    private TelegramClient telegramClient;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -83,12 +90,14 @@ class KafkaUpdateListenerTest {
 
     @Test
     void validMessageIsProcessed() throws Exception {
+        when(telegramClient.sendMessage(any(), any()))
+                .thenReturn(Mono.just(new TelegramApiResponse(true, null, null, null)));
         LinkUpdateRequest update = new LinkUpdateRequest(10L, new URI("http://example.com"), "TestDesc", List.of(5L));
         String message = objectMapper.writeValueAsString(update);
         kafkaTemplate.send("link-updates", message);
 
         await().atMost(10, TimeUnit.SECONDS)
-                .untilAsserted(() -> verify(telegramBot).execute(any()));
+                .untilAsserted(() -> verify(telegramClient).sendMessage(any(), any()));
     }
 
     @Test
@@ -0,0 +1,112 @@
+package backend.academy.bot;
+
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.bot.config.LinkCacheProperties;
+import backend.academy.bot.service.cache.VersionedLinksSerializer;
+import backend.academy.dto.response.LinkResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Сравнение прежнего JSON-сериализатора кэша ссылок с {@link VersionedLinksSerializer}.
+ *
+ * <p>Запуск: {@code mvn -pl bot test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=backend.academy.bot.LinkCacheCodecBenchmark}. Размер закодированного значения в байтах выводится
+ * вторичной метрикой {@code serialize:encodedBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkCacheCodecBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    private int linkCount;
+
+    @Param({"jackson-json", "json", "smile", "smile-compressed"})
+    private String serializer;
+
+    private RedisSerializer<VersionedLinks> codec;
+    private VersionedLinks value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        codec = serializer(serializer);
+        value = links(linkCount);
+        encoded = codec.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize size) {
+        byte[] bytes = codec.serialize(value);
+        size.encodedBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public VersionedLinks deserialize() {
+        return codec.deserialize(encoded);
+    }
+
+    static RedisSerializer<VersionedLinks> serializer(String name) {
+        return switch (name) {
+            case "jackson-json" ->
+                new Jackson2JsonRedisSerializer<>(new ObjectMapper().findAndRegisterModules(), VersionedLinks.class);
+            case "json" -> new VersionedLinksSerializer(LinkCacheProperties.Codec.JSON, Long.MAX_VALUE);
+            case "smile" -> new VersionedLinksSerializer(LinkCacheProperties.Codec.SMILE, Long.MAX_VALUE);
+            case "smile-compressed" -> new VersionedLinksSerializer(LinkCacheProperties.Codec.SMILE, 0);
+            default -> throw new IllegalArgumentException("Unknown serializer: " + name);
+        };
+    }
+
+    static VersionedLinks links(int count) {
+        List<LinkResponse> links = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            links.add(new LinkResponse(
+                    i,
+                    URI.create("https://github.com/owner" + i % 50 + "/repository-" + i),
+                    Set.of("work", "tag" + i % 10),
+                    Set.of("user:bot" + i % 5)));
+        }
+        return new VersionedLinks((long) count, links);
+    }
+
+    /** Счетчик JMH: значение поля в конце итерации попадает в отчет рядом со временем сериализации. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long encodedBytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(LinkCacheCodecBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
@@ -0,0 +1,64 @@
+package backend.academy.bot;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.bot.client.ScrapperClient;
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.dto.response.LinkResponse;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+@SpringBootTest
+@ContextConfiguration(initializers = LinksRevalidationTest.WireMockInit.class)
+class LinksRevalidationTest {
+
+    @RegisterExtension
+    static WireMockExtension wm =
+            WireMockExtension.newInstance().options(wireMockConfig().dynamicPort()).build();
+
+    @Autowired
+    private ScrapperClient client;
+
+    static class WireMockInit implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext ctx) {
+            TestPropertyValues.of("app.scrapper-url=" + wm.baseUrl()).applyTo(ctx.getEnvironment());
+        }
+    }
+
+    @Test
+    void shouldStreamLinksAndKeepCachedListOnNotModified() {
+        wm.stubFor(get("/links/stream")
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/x-ndjson")
+                        .withHeader("ETag", "\"3\"")
+                        .withHeader("Links-Version", "3")
+                        .withBody("{\"id\":1,\"url\":\"https://a\",\"tags\":[],\"filters\":[]}\n"
+                                + "{\"id\":2,\"url\":\"https://b\",\"tags\":[\"x\"],\"filters\":[]}\n")));
+        wm.stubFor(get("/links/stream")
+                .withHeader("If-None-Match", equalTo("\"3\""))
+                .willReturn(aResponse().withStatus(304).withHeader("ETag", "\"3\"")));
+
+        VersionedLinks loaded = client.getLinks(5L).block();
+
+        assertThat(loaded.version()).isEqualTo(3L);
+        assertThat(loaded.links())
+                .extracting(LinkResponse::url)
+                .containsExactly(URI.create("https://a"), URI.create("https://b"));
+
+        assertThat(client.revalidateLinks(5L, loaded).block()).isSameAs(loaded);
+        wm.verify(2, getRequestedFor(urlEqualTo("/links/stream")).withHeader("Tg-Chat-Id", equalTo("5")));
+    }
+}
@@ -16,7 +16,12 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
 @TestPropertySource(
-        properties = {"app.message-transport=HTTP", "rate-limiting.enabled=true", "rate-limiting.requests-per-minute=5"
+        properties = {
+            "app.message-transport=HTTP",
+            "rate-limiting.enabled=true",
+            "rate-limiting.requests-per-minute=5",
+            "rate-limiting.clients.scrapper.api-key=test-scrapper-key",
+            "rate-limiting.clients.scrapper.requests-per-minute=0"
         })
 public class RateLimitingFilterTest {
 
@@ -50,4 +55,21 @@ public class RateLimitingFilterTest {
                 .expectStatus()
                 .isEqualTo(429);
     }
+
+    @Test
+    void shouldNotLimitExemptClient() {
+        var request = new LinkUpdateRequest(null, URI.create("https://example.com"), "Scrapper", List.of(123456L));
+
+        for (int i = 1; i <= 10; i++) {
+            webTestClient
+                    .post()
+                    .uri("/links")
+                    .header("X-Api-Key", "test-scrapper-key")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus()
+                    .isOk();
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.bot.config.ConversationProperties;
+import backend.academy.bot.state.RedisChatSessionStore;
+import backend.academy.bot.state.TrackState;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisChatSessionStoreTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+
+    private final RedisChatSessionStore store = new RedisChatSessionStore(
+            redisTemplate, new ConversationProperties(ConversationProperties.Backend.REDIS, IDLE_TIMEOUT, 100));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReapplyUpdateWhenSessionChangedConcurrently() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.getAndExpire("chat-session::1", IDLE_TIMEOUT)).thenReturn(null, "{\"state\":\"AWAITING_LINK\"}");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(0L, 1L);
+        AtomicInteger applied = new AtomicInteger();
+
+        store.update(1L, session -> {
+            applied.incrementAndGet();
+            return session.withState(TrackState.AWAITING_TAGS);
+        });
+
+        verify(redisTemplate, times(2))
+                .execute(any(RedisScript.class), eq(List.of("chat-session::1")), any(), any(), any());
+        assertThat(applied).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldGiveUpAfterRepeatedConflicts() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(0L);
+
+        assertThatThrownBy(() -> store.update(1L, session -> session.withState(TrackState.AWAITING_LINK)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
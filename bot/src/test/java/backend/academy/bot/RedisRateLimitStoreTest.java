@@ -0,0 +1,75 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import backend.academy.bot.config.RateLimitingProperties;
+import backend.academy.bot.filter.ratelimit.RateLimitStore.RateLimitDecision;
+import backend.academy.bot.filter.ratelimit.RedisRateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisRateLimitStoreTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RedisRateLimitStore store = new RedisRateLimitStore(
+            redisTemplate,
+            new RateLimitingProperties(
+                    true,
+                    60,
+                    "X-Api-Key",
+                    Map.of(),
+                    RateLimitingProperties.Backend.REDIS,
+                    Duration.ofMinutes(10),
+                    100,
+                    List.of()),
+            registry);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRejectAndCountWhenScriptReturnsNothing() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(null);
+
+        RateLimitDecision decision = store.tryConsume("ip:127.0.0.1", 60);
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.nanosToWait()).isPositive();
+        assertThat(registry.counter("rate-limit.store.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRejectAndCountWhenRedisIsUnavailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(store.tryConsume("ip:127.0.0.1", 60).allowed()).isFalse();
+        assertThat(registry.counter("rate-limit.store.failures").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailStartupWithoutClientApiKey() {
+        assertThatThrownBy(() -> new RateLimitingProperties(
+                        true,
+                        60,
+                        "X-Api-Key",
+                        Map.of("scrapper", new RateLimitingProperties.Client("", 0)),
+                        RateLimitingProperties.Backend.LOCAL,
+                        Duration.ofMinutes(10),
+                        100,
+                        List.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("scrapper");
+    }
+}
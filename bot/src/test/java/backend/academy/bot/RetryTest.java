@@ -66,10 +66,11 @@ class RetryTest {
                 .willReturn(aResponse()
                         .withStatus(200)
                         .withHeader("Content-Type", "application/json")
+                        .withHeader("Links-Version", "7")
                         .withBody("{\"id\":1,\"url\":\"http://foo\",\"tags\":[],\"filters\":[]}")));
 
         StepVerifier.create(client.addLink(123L, new LinkResponse(null, URI.create("http://foo"), Set.of(), Set.of())))
-                .expectNextMatches(resp -> resp.id() == 1)
+                .expectNextMatches(resp -> resp.added().id() == 1 && resp.version() == 7L)
                 .verifyComplete();
 
         wm.verify(3, postRequestedFor(urlEqualTo("/links")));
@@ -0,0 +1,105 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.bot.client.ScrapperRpcClient;
+import backend.academy.bot.client.ScrapperRpcException;
+import backend.academy.bot.config.ScrapperClientProperties;
+import backend.academy.dto.rpc.RpcCodec;
+import backend.academy.dto.rpc.RpcFrame;
+import backend.academy.dto.rpc.RpcRequest;
+import backend.academy.dto.rpc.RpcResponse;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.tcp.TcpServer;
+import reactor.test.StepVerifier;
+
+class ScrapperRpcClientTest {
+
+    /** Чат, на запрос которого сервер отвечает поврежденным кадром. */
+    private static final long BROKEN_CHAT = 13L;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private DisposableServer server;
+    private ScrapperRpcClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = TcpServer.create()
+                .port(0)
+                .doOnConnection(connection -> {
+                    connections.incrementAndGet();
+                    connection
+                            .addHandlerLast(new LengthFieldBasedFrameDecoder(
+                                    RpcCodec.MAX_FRAME_SIZE,
+                                    0,
+                                    RpcCodec.LENGTH_FIELD_SIZE,
+                                    0,
+                                    RpcCodec.LENGTH_FIELD_SIZE))
+                            .addHandlerLast(new LengthFieldPrepender(RpcCodec.LENGTH_FIELD_SIZE));
+                })
+                .handle((inbound, outbound) -> outbound.sendByteArray(
+                        inbound.receive().asByteArray().map(RpcCodec::decodeRequest).flatMap(this::answer)))
+                .bindNow();
+        client = new ScrapperRpcClient(new ScrapperClientProperties(
+                16,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(5),
+                false,
+                new ScrapperClientProperties.Hedging(false, 0.95, 10, Duration.ofMillis(10), Duration.ofSeconds(1)),
+                ScrapperClientProperties.Transport.RPC,
+                new ScrapperClientProperties.Rpc("localhost", server.port())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.disposeNow();
+    }
+
+    @Test
+    void shouldMatchPipelinedResponsesByStreamId() {
+        StepVerifier.create(Mono.zip(client.getAllTags(1L), client.getAllTags(2L)))
+                .assertNext(tags -> {
+                    assertThat(tags.getT1()).containsExactly("chat-1");
+                    assertThat(tags.getT2()).containsExactly("chat-2");
+                })
+                .verifyComplete();
+        assertThat(connections).hasValue(1);
+    }
+
+    @Test
+    void shouldFailPendingCallsAndReconnectAfterMalformedResponse() {
+        StepVerifier.create(client.getAllTags(BROKEN_CHAT))
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(ScrapperRpcException.class);
+                    assertThat(((ScrapperRpcException) error).retryable()).isTrue();
+                })
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(client.getAllTags(3L))
+                .assertNext(tags -> assertThat(tags).containsExactly("chat-3"))
+                .verifyComplete();
+        assertThat(connections).hasValue(2);
+    }
+
+    private Mono<byte[]> answer(RpcFrame<RpcRequest> frame) {
+        long chatId = frame.message().chatId();
+        if (chatId == BROKEN_CHAT) {
+            return Mono.just(new byte[] {2, 0, 0, 0, (byte) frame.streamId(), 99});
+        }
+        // ответ на первый вызов задерживается, чтобы второй пришел раньше
+        Duration delay = chatId == 1L ? Duration.ofMillis(200) : Duration.ZERO;
+        return Mono.just(RpcCodec.encodeResponse(frame.streamId(), new RpcResponse.Tags(Set.of("chat-" + chatId))))
+                .delayElement(delay);
+    }
+}
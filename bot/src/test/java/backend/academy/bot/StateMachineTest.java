@@ -0,0 +1,52 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.bot.config.ConversationProperties;
+import backend.academy.bot.state.ChatSession;
+import backend.academy.bot.state.LocalChatSessionStore;
+import backend.academy.bot.state.StateMachine;
+import backend.academy.bot.state.TrackState;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class StateMachineTest {
+
+    private final LocalChatSessionStore store = new LocalChatSessionStore(
+            new ConversationProperties(ConversationProperties.Backend.LOCAL, Duration.ofMinutes(30), 1000));
+    private final StateMachine stateMachine = new StateMachine(store);
+
+    @Test
+    void shouldKeepPendingDataInOneSessionAndDropItWhenIdle() {
+        long chatId = 1L;
+        stateMachine.setState(chatId, TrackState.AWAITING_TAGS);
+        stateMachine.setPendingLink(chatId, URI.create("https://github.com/a/b"));
+        stateMachine.setPendingTags(chatId, List.of("work"));
+
+        assertThat(store.get(chatId))
+                .isEqualTo(new ChatSession(
+                        TrackState.AWAITING_TAGS, URI.create("https://github.com/a/b"), List.of("work"), List.of()));
+
+        stateMachine.clearPendingData(chatId);
+        stateMachine.setState(chatId, TrackState.IDLE);
+
+        assertThat(store.get(chatId)).isSameAs(ChatSession.IDLE);
+        assertThat(stateMachine.getPendingTags(chatId)).isEmpty();
+    }
+
+    @Test
+    void shouldNotLoseUpdatesFromConcurrentChats() {
+        LongStream.range(0, 500).parallel().forEach(chatId -> {
+            stateMachine.setState(chatId, TrackState.AWAITING_FILTERS);
+            stateMachine.setPendingFilters(chatId, List.of("user:" + chatId));
+        });
+
+        LongStream.range(0, 500).forEach(chatId -> {
+            assertThat(stateMachine.getState(chatId)).isEqualTo(TrackState.AWAITING_FILTERS);
+            assertThat(stateMachine.getPendingFilters(chatId)).containsExactly("user:" + chatId);
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.bot.client.TelegramClient;
+import backend.academy.bot.client.dto.telegram.TelegramApiResponse;
+import backend.academy.bot.config.TelegramProperties;
+import backend.academy.bot.service.telegram.TelegramMessageDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+class TelegramMessageDispatcherTest {
+
+    private final TelegramClient telegramClient = mock(TelegramClient.class);
+    private final TelegramProperties.Api api =
+            new TelegramProperties.Api("http://localhost", 10, Duration.ofSeconds(60), Duration.ofSeconds(5));
+    private final TelegramProperties.Inbound inbound = new TelegramProperties.Inbound(4, 100, Duration.ofSeconds(5));
+    private final TelegramProperties.Ingestion ingestion =
+            new TelegramProperties.Ingestion(
+                    TelegramProperties.Mode.POLLING, null, null, Duration.ofHours(1), Duration.ofSeconds(10), 1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TelegramMessageDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        TelegramProperties properties = new TelegramProperties(
+                api,
+                new TelegramProperties.Outbound(
+                        30, Duration.ofMillis(10), 100, 3, Duration.ofMillis(10), Duration.ZERO),
+                inbound,
+                ingestion);
+        dispatcher = new TelegramMessageDispatcher(telegramClient, properties, registry);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void shouldRescheduleOnTooManyRequestsAndKeepOrder() {
+        TelegramApiResponse tooManyRequests = new TelegramApiResponse(
+                false, 429, "Too Many Requests", new TelegramApiResponse.Parameters(1));
+        TelegramApiResponse ok = new TelegramApiResponse(true, null, null, null);
+        when(telegramClient.sendMessage(any(), any()))
+                .thenReturn(Mono.just(tooManyRequests), Mono.just(ok), Mono.just(ok));
+
+        dispatcher.enqueue(1L, "first");
+        dispatcher.enqueue(1L, "second");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.queueDepth() == 0);
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(telegramClient, times(3)).sendMessage(any(), captor.capture());
+        List<String> texts = captor.getAllValues();
+        assertThat(texts).containsExactly("first", "first", "second");
+        assertThat(registry.counter("telegram.outbound.rescheduled").count()).isEqualTo(1.0);
+        assertThat(registry.counter("telegram.outbound.dropped").count()).isZero();
+    }
+
+    @Test
+    void shouldDropMessagesAboveCapacity() {
+        SimpleMeterRegistry idleRegistry = new SimpleMeterRegistry();
+        TelegramProperties properties = new TelegramProperties(
+                api,
+                new TelegramProperties.Outbound(30, Duration.ofSeconds(1), 2, 3, Duration.ofSeconds(1), Duration.ZERO),
+                inbound,
+                ingestion);
+        // диспетчер не запущен, поэтому сообщения остаются в очереди
+        TelegramMessageDispatcher idleDispatcher =
+                new TelegramMessageDispatcher(telegramClient, properties, idleRegistry);
+
+        assertThat(idleDispatcher.enqueue(1L, "first")).isTrue();
+        assertThat(idleDispatcher.enqueue(2L, "second")).isTrue();
+        assertThat(idleDispatcher.enqueue(3L, "overflow")).isFalse();
+        assertThat(idleDispatcher.queueDepth()).isEqualTo(2);
+        assertThat(idleRegistry.counter("telegram.outbound.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCoalesceNotificationsWithinWindow() {
+        TelegramProperties properties = new TelegramProperties(
+                api,
+                new TelegramProperties.Outbound(
+                        30, Duration.ofMillis(10), 100, 3, Duration.ofMillis(10), Duration.ofMillis(300)),
+                inbound,
+                ingestion);
+        TelegramMessageDispatcher coalescingDispatcher =
+                new TelegramMessageDispatcher(telegramClient, properties, new SimpleMeterRegistry());
+        when(telegramClient.sendMessage(any(), any()))
+                .thenReturn(Mono.just(new TelegramApiResponse(true, null, null, null)));
+        coalescingDispatcher.start();
+        try {
+            String longUpdate = "x".repeat(3000);
+            coalescingDispatcher.enqueueNotification(1L, "first");
+            coalescingDispatcher.enqueueNotification(1L, "second");
+            coalescingDispatcher.enqueueNotification(1L, longUpdate);
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> coalescingDispatcher.queueDepth() == 0);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(telegramClient, times(1)).sendMessage(any(), captor.capture());
+            assertThat(captor.getValue()).isEqualTo("first\n\nsecond\n\n" + longUpdate);
+
+            coalescingDispatcher.enqueueNotification(1L, longUpdate);
+            coalescingDispatcher.enqueueNotification(1L, longUpdate);
+
+            await().atMost(5, TimeUnit.SECONDS).until(() -> coalescingDispatcher.queueDepth() == 0);
+            verify(telegramClient, times(3)).sendMessage(any(), any());
+        } finally {
+            coalescingDispatcher.stop();
+        }
+    }
+
+    @Test
+    void shouldSplitMessagesLongerThanTelegramLimit() {
+        when(telegramClient.sendMessage(any(), any()))
+                .thenReturn(Mono.just(new TelegramApiResponse(true, null, null, null)));
+
+        dispatcher.enqueue(1L, "a".repeat(3000) + "\n" + "b".repeat(3000));
+        dispatcher.enqueue(1L, "c".repeat(5000));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.queueDepth() == 0);
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(telegramClient, times(4)).sendMessage(any(), captor.capture());
+        List<String> texts = captor.getAllValues();
+        assertThat(texts.subList(0, 2)).containsExactly("a".repeat(3000), "b".repeat(3000));
+        assertThat(texts.subList(2, 4)).extracting(String::length).containsExactly(4096, 904);
+    }
+}
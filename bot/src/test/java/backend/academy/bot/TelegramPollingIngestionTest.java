@@ -0,0 +1,39 @@
+package backend.academy.bot;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.bot.service.bot.BotService;
+import backend.academy.bot.service.telegram.TelegramPollingIngestion;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.request.DeleteWebhook;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class TelegramPollingIngestionTest {
+
+    private final TelegramBot bot = mock(TelegramBot.class);
+    private final TelegramPollingIngestion ingestion = new TelegramPollingIngestion(bot, mock(BotService.class));
+
+    @Test
+    void shouldDeleteWebhookBeforePolling() {
+        ingestion.start();
+
+        InOrder order = inOrder(bot);
+        order.verify(bot).execute(any(DeleteWebhook.class));
+        order.verify(bot).setUpdatesListener(any(UpdatesListener.class));
+    }
+
+    @Test
+    void shouldStartPollingWhenWebhookDeletionFails() {
+        when(bot.execute(any(DeleteWebhook.class))).thenThrow(new RuntimeException("telegram is down"));
+
+        ingestion.start();
+
+        verify(bot).setUpdatesListener(any(UpdatesListener.class));
+    }
+}
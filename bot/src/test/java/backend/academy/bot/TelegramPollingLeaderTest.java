@@ -0,0 +1,76 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import backend.academy.bot.config.TelegramProperties;
+import backend.academy.bot.service.telegram.TelegramPollingLeader;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.request.DeleteWebhook;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class TelegramPollingLeaderTest {
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private TelegramProperties telegramProperties;
+
+    @MockitoBean
+    private TelegramBot telegramBot;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldElectSinglePollerAndFailOverOnShutdown() {
+        TelegramProperties properties = new TelegramProperties(
+                telegramProperties.api(),
+                telegramProperties.outbound(),
+                telegramProperties.inbound(),
+                new TelegramProperties.Ingestion(
+                        TelegramProperties.Mode.LEADER_POLLING,
+                        null,
+                        null,
+                        Duration.ofHours(1),
+                        Duration.ofSeconds(1),
+                        1));
+        TelegramBot firstBot = mock(TelegramBot.class);
+        TelegramBot secondBot = mock(TelegramBot.class);
+        TelegramPollingLeader first =
+                new TelegramPollingLeader(firstBot, redisTemplate, mock(KafkaTemplate.class), properties, "updates");
+        TelegramPollingLeader second =
+                new TelegramPollingLeader(secondBot, redisTemplate, mock(KafkaTemplate.class), properties, "updates");
+
+        first.start();
+        await().atMost(5, TimeUnit.SECONDS).until(first::isLeader);
+        second.start();
+        try {
+            await().during(Duration.ofMillis(1500)).atMost(3, TimeUnit.SECONDS).until(() -> !second.isLeader());
+            verify(firstBot).execute(any(DeleteWebhook.class));
+            verify(firstBot).setUpdatesListener(any(UpdatesListener.class));
+
+            first.stop();
+
+            await().atMost(5, TimeUnit.SECONDS).until(second::isLeader);
+            verify(firstBot).removeGetUpdatesListener();
+            verify(secondBot).setUpdatesListener(any(UpdatesListener.class));
+            assertThat(first.isLeader()).isFalse();
+        } finally {
+            second.stop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import backend.academy.bot.config.TelegramProperties;
+import backend.academy.bot.service.telegram.TelegramUpdateExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class TelegramUpdateExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TelegramUpdateExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        TelegramProperties properties = new TelegramProperties(
+                new TelegramProperties.Api("http://localhost", 10, Duration.ofSeconds(60), Duration.ofSeconds(5)),
+                new TelegramProperties.Outbound(
+                        30, Duration.ofMillis(10), 100, 3, Duration.ofMillis(10), Duration.ZERO),
+                new TelegramProperties.Inbound(8, 100, Duration.ofSeconds(5)),
+                new TelegramProperties.Ingestion(
+                        TelegramProperties.Mode.POLLING, null, null, Duration.ofHours(1), Duration.ofSeconds(10), 1));
+        executor = new TelegramUpdateExecutor(properties, registry);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void shouldKeepOrderWithinChatWhileAsyncWorkIsInFlight() {
+        List<String> processed = new CopyOnWriteArrayList<>();
+
+        // первое сообщение завершается позже второго, если бы они выполнялись параллельно
+        executor.submit(1L, () -> Mono.delay(Duration.ofMillis(200)).doOnNext(ignored -> processed.add("first")));
+        executor.submit(1L, () -> Mono.fromRunnable(() -> processed.add("second")));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> executor.queueDepth() == 0);
+        assertThat(processed).containsExactly("first", "second");
+    }
+
+    @Test
+    void shouldProcessDifferentChatsInParallel() throws InterruptedException {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch released = new CountDownLatch(1);
+
+        // чаты 1 и 2 попадают в разные очереди
+        for (long chatId = 1; chatId <= 2; chatId++) {
+            executor.submit(chatId, () -> Mono.fromRunnable(() -> {
+                bothStarted.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("telegram.inbound.queue.depth").gauge().value()).isEqualTo(2.0);
+        released.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> executor.queueDepth() == 0);
+    }
+}
@@ -0,0 +1,78 @@
+package backend.academy.bot;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import backend.academy.bot.service.bot.BotService;
+import com.pengrad.telegrambot.TelegramBot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Import(TestcontainersConfiguration.class)
+@TestPropertySource(
+        properties = {"telegram.ingestion.mode=WEBHOOK", "telegram.ingestion.secret-token=test-webhook-secret"})
+class TelegramWebhookControllerTest {
+
+    private static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private TelegramBot telegramBot;
+
+    @MockitoBean
+    private BotService botService;
+
+    @Test
+    void shouldAcceptUpdateOnceAndIgnoreRedelivery() {
+        String update =
+                """
+                {"update_id": 4242, "message": {"message_id": 1, "date": 0,
+                 "chat": {"id": 100, "type": "private"}, "text": "/list"}}
+                """;
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient
+                    .post()
+                    .uri("/telegram/webhook")
+                    .header(SECRET_HEADER, "test-webhook-secret")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(update)
+                    .exchange()
+                    .expectStatus()
+                    .isOk();
+        }
+
+        verify(botService, times(1))
+                .acceptUpdate(argThat(received -> received.updateId() == 4242
+                        && received.message().chat().id() == 100L
+                        && "/list".equals(received.message().text())));
+    }
+
+    @Test
+    void shouldRejectUpdateWithWrongSecret() {
+        webTestClient
+                .post()
+                .uri("/telegram/webhook")
+                .header(SECRET_HEADER, "wrong")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"update_id\": 4343}")
+                .exchange()
+                .expectStatus()
+                .isUnauthorized();
+
+        verify(botService, never()).acceptUpdate(argThat(received -> received.updateId() == 4343));
+    }
+}
@@ -0,0 +1,43 @@
+package backend.academy.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.bot.client.dto.VersionedLinks;
+import backend.academy.bot.config.LinkCacheProperties;
+import backend.academy.bot.service.cache.VersionedLinksSerializer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+class VersionedLinksSerializerTest {
+
+    private final VersionedLinks links = LinkCacheCodecBenchmark.links(1000);
+
+    @Test
+    void shouldRoundTripEveryFormat() {
+        for (String name : new String[] {"json", "smile", "smile-compressed"}) {
+            RedisSerializer<VersionedLinks> serializer = LinkCacheCodecBenchmark.serializer(name);
+
+            assertThat(serializer.deserialize(serializer.serialize(links))).isEqualTo(links);
+        }
+    }
+
+    @Test
+    void shouldReadValuesWrittenWithAnotherCodec() {
+        VersionedLinksSerializer smile = new VersionedLinksSerializer(LinkCacheProperties.Codec.SMILE, 1024);
+        VersionedLinksSerializer json = new VersionedLinksSerializer(LinkCacheProperties.Codec.JSON, 1024);
+        byte[] legacy = LinkCacheCodecBenchmark.serializer("jackson-json").serialize(links);
+
+        assertThat(json.deserialize(smile.serialize(links))).isEqualTo(links);
+        assertThat(smile.deserialize(legacy)).isEqualTo(links);
+    }
+
+    @Test
+    void shouldStoreCompressedSmileInFractionOfJsonSize() {
+        byte[] legacy = LinkCacheCodecBenchmark.serializer("jackson-json").serialize(links);
+        byte[] compact = LinkCacheCodecBenchmark.serializer("smile-compressed").serialize(links);
+
+        assertThat(new String(legacy, StandardCharsets.UTF_8)).startsWith("{");
+        assertThat(compact.length).isLessThan(legacy.length / 3);
+    }
+}
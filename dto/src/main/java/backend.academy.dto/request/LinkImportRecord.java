@@ -0,0 +1,14 @@
+package backend.academy.dto.request;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Строка NDJSON массового импорта и экспорта отслеживаемых ссылок.
+ *
+ * @param chatId Идентификатор чата, отслеживающего ссылку.
+ * @param link URI ссылки.
+ * @param tags Теги ссылки в этом чате.
+ * @param filters Фильтры ссылки.
+ */
+public record LinkImportRecord(Long chatId, URI link, Set<String> tags, Set<String> filters) {}
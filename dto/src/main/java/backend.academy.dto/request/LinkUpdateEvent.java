@@ -0,0 +1,16 @@
+package backend.academy.dto.request;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Отдельное событие в составе обновления ссылки.
+ *
+ * @param type Тип события (например, ISSUE, PULL_REQUEST, ANSWER, COMMENT)
+ * @param url URL события
+ * @param title Заголовок события, если он есть
+ * @param author Автор события
+ * @param createdAt Время создания события
+ * @param preview Краткое содержание события
+ */
+public record LinkUpdateEvent(String type, URI url, String title, String author, Instant createdAt, String preview) {}
@@ -6,9 +6,22 @@ import java.util.List;
 /**
  * Запрос на обновление ссылки, содержащий информацию для уведомления пользователей.
  *
+ * <p>Одно обновление может объединять несколько событий, найденных по ссылке за один опрос.
+ *
  * @param id Уникальный идентификатор ссылки
  * @param url URL ссылки
- * @param description Описание обновления
+ * @param description Описание обновления, готовое к отправке пользователю
  * @param tgChatIds Список ID чатов Telegram для отправки уведомлений
+ * @param events Список событий, вошедших в обновление
  */
-public record LinkUpdateRequest(Long id, URI url, String description, List<Long> tgChatIds) {}
+public record LinkUpdateRequest(
+        Long id, URI url, String description, List<Long> tgChatIds, List<LinkUpdateEvent> events) {
+
+    public LinkUpdateRequest {
+        events = events == null ? List.of() : List.copyOf(events);
+    }
+
+    public LinkUpdateRequest(Long id, URI url, String description, List<Long> tgChatIds) {
+        this(id, url, description, tgChatIds, List.of());
+    }
+}
@@ -0,0 +1,9 @@
+package backend.academy.dto.response;
+
+/**
+ * Итог массового импорта ссылок.
+ *
+ * @param imported Количество обработанных строк импорта.
+ * @param chunks Количество транзакций, в которых выполнен импорт.
+ */
+public record LinkImportResponse(long imported, int chunks) {}
@@ -0,0 +1,300 @@
+package backend.academy.dto.rpc;
+
+import backend.academy.dto.response.LinkResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+
+/**
+ * Кодирование кадров бинарного RPC-канала между ботом и скраппером.
+ *
+ * <p>Кадр: версия протокола (1 байт), идентификатор вызова (4 байта), тип сообщения (1 байт) и поля сообщения в
+ * фиксированном порядке. Строки записываются в UTF-8 с длиной в байтах впереди, коллекции - с числом элементов
+ * впереди, {@code -1} вместо длины коллекции означает {@code null}. Длина кадра целиком добавляется транспортом.
+ *
+ * <p>Декодер не доверяет длинам из кадра: ни строка, ни коллекция не может быть длиннее, чем осталось байт в кадре, а
+ * любое нарушение формата приводит к {@link UncheckedIOException}.
+ */
+public final class RpcCodec {
+
+    /** Размер префикса длины кадра, добавляемого транспортом. */
+    public static final int LENGTH_FIELD_SIZE = 4;
+
+    /** Максимальный размер кадра без префикса длины. */
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private static final byte PROTOCOL_VERSION = 2;
+
+    private static final byte REGISTER_CHAT = 1;
+    private static final byte DELETE_CHAT = 2;
+    private static final byte ADD_LINK = 3;
+    private static final byte REMOVE_LINK = 4;
+    private static final byte GET_LINKS = 5;
+    private static final byte GET_TAGS = 6;
+    private static final byte GET_LINKS_BY_TAGS = 7;
+
+    private static final byte DONE = 1;
+    private static final byte LINK = 2;
+    private static final byte LINKS = 3;
+    private static final byte TAGS = 4;
+    private static final byte FAILURE = 5;
+
+    private static final int STREAM_ID_OFFSET = 1;
+
+    private RpcCodec() {}
+
+    /**
+     * Читает идентификатор вызова из заголовка кадра, не разбирая тело, чтобы ответить ошибкой на некорректный кадр.
+     *
+     * @return Идентификатор или пустое значение, если заголовок кадра поврежден.
+     */
+    public static OptionalInt readStreamId(byte[] frame) {
+        if (frame.length < STREAM_ID_OFFSET + Integer.BYTES || frame[0] != PROTOCOL_VERSION) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(ByteBuffer.wrap(frame, STREAM_ID_OFFSET, Integer.BYTES).getInt());
+    }
+
+    public static byte[] encodeRequest(int streamId, RpcRequest request) {
+        return encode(streamId, out -> {
+            switch (request) {
+                case RpcRequest.RegisterChat r -> {
+                    out.writeByte(REGISTER_CHAT);
+                    out.writeLong(r.chatId());
+                }
+                case RpcRequest.DeleteChat r -> {
+                    out.writeByte(DELETE_CHAT);
+                    out.writeLong(r.chatId());
+                }
+                case RpcRequest.AddLink r -> {
+                    out.writeByte(ADD_LINK);
+                    out.writeLong(r.chatId());
+                    writeUri(out, r.link());
+                    writeStrings(out, r.tags());
+                    writeStrings(out, r.filters());
+                }
+                case RpcRequest.RemoveLink r -> {
+                    out.writeByte(REMOVE_LINK);
+                    out.writeLong(r.chatId());
+                    writeUri(out, r.link());
+                }
+                case RpcRequest.GetLinks r -> {
+                    out.writeByte(GET_LINKS);
+                    out.writeLong(r.chatId());
+                }
+                case RpcRequest.GetTags r -> {
+                    out.writeByte(GET_TAGS);
+                    out.writeLong(r.chatId());
+                }
+                case RpcRequest.GetLinksByTags r -> {
+                    out.writeByte(GET_LINKS_BY_TAGS);
+                    out.writeLong(r.chatId());
+                    writeStrings(out, r.tags());
+                }
+            }
+        });
+    }
+
+    public static RpcFrame<RpcRequest> decodeRequest(byte[] frame) {
+        return decode(frame, (type, in) -> switch (type) {
+            case REGISTER_CHAT -> new RpcRequest.RegisterChat(in.readLong());
+            case DELETE_CHAT -> new RpcRequest.DeleteChat(in.readLong());
+            case ADD_LINK -> new RpcRequest.AddLink(in.readLong(), readUri(in), readStrings(in), readStrings(in));
+            case REMOVE_LINK -> new RpcRequest.RemoveLink(in.readLong(), readUri(in));
+            case GET_LINKS -> new RpcRequest.GetLinks(in.readLong());
+            case GET_TAGS -> new RpcRequest.GetTags(in.readLong());
+            case GET_LINKS_BY_TAGS -> new RpcRequest.GetLinksByTags(in.readLong(), readStrings(in));
+            default -> throw new IOException("Unknown RPC request type: " + type);
+        });
+    }
+
+    public static byte[] encodeResponse(int streamId, RpcResponse response) {
+        return encode(streamId, out -> {
+            switch (response) {
+                case RpcResponse.Done r -> {
+                    out.writeByte(DONE);
+                    out.writeLong(r.version());
+                }
+                case RpcResponse.Link r -> {
+                    out.writeByte(LINK);
+                    out.writeLong(r.version());
+                    writeLink(out, r.link());
+                }
+                case RpcResponse.Links r -> {
+                    out.writeByte(LINKS);
+                    out.writeLong(r.version());
+                    out.writeInt(r.links().size());
+                    for (LinkResponse link : r.links()) {
+                        writeLink(out, link);
+                    }
+                }
+                case RpcResponse.Tags r -> {
+                    out.writeByte(TAGS);
+                    writeStrings(out, r.tags());
+                }
+                case RpcResponse.Failure r -> {
+                    out.writeByte(FAILURE);
+                    writeString(out, r.type());
+                    writeString(out, r.message());
+                }
+            }
+        });
+    }
+
+    public static RpcFrame<RpcResponse> decodeResponse(byte[] frame) {
+        return decode(frame, (type, in) -> switch (type) {
+            case DONE -> new RpcResponse.Done(in.readLong());
+            case LINK -> new RpcResponse.Link(in.readLong(), readLink(in));
+            case LINKS -> {
+                long version = in.readLong();
+                int size = in.readInt();
+                checkSize(in, size);
+                List<LinkResponse> links = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    links.add(readLink(in));
+                }
+                yield new RpcResponse.Links(version, links);
+            }
+            case TAGS -> new RpcResponse.Tags(readStrings(in));
+            case FAILURE -> new RpcResponse.Failure(readString(in), readString(in));
+            default -> throw new IOException("Unknown RPC response type: " + type);
+        });
+    }
+
+    private static byte[] encode(int streamId, Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PROTOCOL_VERSION);
+            out.writeInt(streamId);
+            body.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode RPC frame", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> RpcFrame<T> decode(byte[] frame, Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame))) {
+            byte version = in.readByte();
+            if (version != PROTOCOL_VERSION) {
+                throw new IOException("Unsupported RPC protocol version: " + version);
+            }
+            int streamId = in.readInt();
+            return new RpcFrame<>(streamId, reader.read(in.readByte(), in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode RPC frame", e);
+        }
+    }
+
+    private static void writeLink(DataOutputStream out, LinkResponse link) throws IOException {
+        out.writeBoolean(link.id() != null);
+        if (link.id() != null) {
+            out.writeLong(link.id());
+        }
+        writeUri(out, link.url());
+        writeStrings(out, link.tags());
+        writeStrings(out, link.filters());
+    }
+
+    private static LinkResponse readLink(DataInputStream in) throws IOException {
+        Long id = in.readBoolean() ? in.readLong() : null;
+        return new LinkResponse(id, readUri(in), readStrings(in), readStrings(in));
+    }
+
+    private static void writeUri(DataOutputStream out, URI uri) throws IOException {
+        writeString(out, uri != null ? uri.toString() : null);
+    }
+
+    private static URI readUri(DataInputStream in) throws IOException {
+        String uri = readString(in);
+        if (uri == null) {
+            return null;
+        }
+        try {
+            return URI.create(uri);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed URI in RPC frame", e);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeText(out, value);
+        }
+    }
+
+    private static Set<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == -1) {
+            return null;
+        }
+        checkSize(in, size);
+        Set<String> values = LinkedHashSet.newLinkedHashSet(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readText(in));
+        }
+        return values;
+    }
+
+    /**
+     * Каждый элемент коллекции и каждый байт строки занимает хотя бы байт кадра, поэтому длина больше остатка кадра
+     * заведомо ложная.
+     */
+    private static void checkSize(DataInputStream in, int size) throws IOException {
+        if (size < 0 || size > in.available()) {
+            throw new IOException("Invalid length in RPC frame: " + size);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeText(out, value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readText(in) : null;
+    }
+
+    /** {@link DataOutputStream#writeUTF} ограничен 65535 байтами, а URL и тексты ошибок бывают длиннее. */
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkSize(in, length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(byte type, DataInputStream in) throws IOException;
+    }
+}
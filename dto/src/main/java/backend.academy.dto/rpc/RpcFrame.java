@@ -0,0 +1,10 @@
+package backend.academy.dto.rpc;
+
+/**
+ * Кадр RPC-канала.
+ *
+ * @param streamId Идентификатор вызова, по которому ответ сопоставляется с запросом. Ответы одного соединения могут
+ *     приходить в любом порядке.
+ * @param message Запрос или ответ.
+ */
+public record RpcFrame<T>(int streamId, T message) {}
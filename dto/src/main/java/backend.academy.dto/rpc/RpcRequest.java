@@ -0,0 +1,31 @@
+package backend.academy.dto.rpc;
+
+import java.net.URI;
+import java.util.Set;
+
+/** Запросы бинарного RPC-канала бота к скрапперу. Каждый запрос относится к одному чату. */
+public sealed interface RpcRequest {
+
+    Long chatId();
+
+    /** Регистрация чата. Ответ - {@link RpcResponse.Done}. */
+    record RegisterChat(Long chatId) implements RpcRequest {}
+
+    /** Удаление чата. Ответ - {@link RpcResponse.Done}. */
+    record DeleteChat(Long chatId) implements RpcRequest {}
+
+    /** Добавление ссылки. Ответ - {@link RpcResponse.Link} с новой версией списка ссылок. */
+    record AddLink(Long chatId, URI link, Set<String> tags, Set<String> filters) implements RpcRequest {}
+
+    /** Удаление ссылки. Ответ - {@link RpcResponse.Done} с новой версией списка ссылок. */
+    record RemoveLink(Long chatId, URI link) implements RpcRequest {}
+
+    /** Список ссылок чата. Ответ - {@link RpcResponse.Links} с версией списка. */
+    record GetLinks(Long chatId) implements RpcRequest {}
+
+    /** Теги ссылок чата. Ответ - {@link RpcResponse.Tags}. */
+    record GetTags(Long chatId) implements RpcRequest {}
+
+    /** Ссылки чата, помеченные хотя бы одним из тегов. Ответ - {@link RpcResponse.Links}. */
+    record GetLinksByTags(Long chatId, Set<String> tags) implements RpcRequest {}
+}
@@ -0,0 +1,30 @@
+package backend.academy.dto.rpc;
+
+import backend.academy.dto.response.LinkResponse;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ответы бинарного RPC-канала. Версия списка ссылок передается в теле ответа вместо заголовка Links-Version;
+ * {@link #NO_VERSION} означает, что версия к ответу не относится.
+ */
+public sealed interface RpcResponse {
+
+    long NO_VERSION = -1;
+
+    record Done(long version) implements RpcResponse {}
+
+    record Link(long version, LinkResponse link) implements RpcResponse {}
+
+    record Links(long version, List<LinkResponse> links) implements RpcResponse {}
+
+    record Tags(Set<String> tags) implements RpcResponse {}
+
+    /**
+     * Ошибка обработки запроса на стороне скраппера.
+     *
+     * @param type Простое имя класса исключения.
+     * @param message Сообщение исключения.
+     */
+    record Failure(String type, String message) implements RpcResponse {}
+}
@@ -0,0 +1,115 @@
+package backend.academy.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.dto.rpc.RpcCodec;
+import backend.academy.dto.rpc.RpcFrame;
+import backend.academy.dto.rpc.RpcRequest;
+import backend.academy.dto.rpc.RpcResponse;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RpcCodecTest {
+
+    private static final URI URL = URI.create("https://github.com/user/repo");
+
+    @Test
+    void shouldRoundTripEveryRequest() {
+        List<RpcRequest> requests = List.of(
+                new RpcRequest.RegisterChat(1L),
+                new RpcRequest.DeleteChat(2L),
+                new RpcRequest.AddLink(3L, URL, Set.of("a", "b"), null),
+                new RpcRequest.RemoveLink(4L, URL),
+                new RpcRequest.GetLinks(5L),
+                new RpcRequest.GetTags(6L),
+                new RpcRequest.GetLinksByTags(7L, Set.of()));
+
+        for (int i = 0; i < requests.size(); i++) {
+            RpcFrame<RpcRequest> frame = RpcCodec.decodeRequest(RpcCodec.encodeRequest(i, requests.get(i)));
+            assertThat(frame.streamId()).isEqualTo(i);
+            assertThat(frame.message()).isEqualTo(requests.get(i));
+        }
+    }
+
+    @Test
+    void shouldRoundTripEveryResponse() {
+        LinkResponse link = new LinkResponse(10L, URL, Set.of("tag"), Set.of("user=bot"));
+        List<RpcResponse> responses = List.of(
+                new RpcResponse.Done(RpcResponse.NO_VERSION),
+                new RpcResponse.Link(3L, link),
+                new RpcResponse.Links(4L, List.of(link, new LinkResponse(null, URL, null, Set.of()))),
+                new RpcResponse.Tags(Set.of("x", "y")),
+                new RpcResponse.Failure("IllegalArgumentException", null));
+
+        for (RpcResponse response : responses) {
+            assertThat(RpcCodec.decodeResponse(RpcCodec.encodeResponse(9, response)))
+                    .isEqualTo(new RpcFrame<>(9, response));
+        }
+    }
+
+    @Test
+    void shouldRoundTripStringsLongerThanModifiedUtf8Limit() {
+        URI longUrl = URI.create("https://github.com/user/repo?q=" + "ю".repeat(40_000));
+        String longMessage = "x".repeat(70_000);
+        RpcResponse links =
+                new RpcResponse.Links(1L, List.of(new LinkResponse(1L, longUrl, Set.of(longMessage), null)));
+        RpcResponse failure = new RpcResponse.Failure("IllegalStateException", longMessage);
+
+        assertThat(RpcCodec.decodeResponse(RpcCodec.encodeResponse(1, links)).message()).isEqualTo(links);
+        assertThat(RpcCodec.decodeResponse(RpcCodec.encodeResponse(2, failure)).message()).isEqualTo(failure);
+    }
+
+    @Test
+    void shouldRejectStringLengthLargerThanFrame() {
+        byte[] frame = RpcCodec.encodeResponse(1, new RpcResponse.Tags(Set.of("a")));
+        // длина единственной строки стоит перед ее последним байтом
+        ByteBuffer.wrap(frame, frame.length - 1 - Integer.BYTES, Integer.BYTES).putInt(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> RpcCodec.decodeResponse(frame)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void shouldRejectCollectionSizeLargerThanFrame() {
+        byte[] frame = RpcCodec.encodeResponse(1, new RpcResponse.Links(1L, List.of()));
+        // размер списка стоит сразу после версии списка
+        ByteBuffer.wrap(frame, frame.length - Integer.BYTES, Integer.BYTES).putInt(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> RpcCodec.decodeResponse(frame)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void shouldRejectNegativeAndOversizedStringSets() {
+        byte[] frame = RpcCodec.encodeResponse(1, new RpcResponse.Tags(Set.of()));
+        ByteBuffer.wrap(frame, frame.length - Integer.BYTES, Integer.BYTES).putInt(Integer.MAX_VALUE / 2 + 1);
+        assertThatThrownBy(() -> RpcCodec.decodeResponse(frame)).isInstanceOf(UncheckedIOException.class);
+
+        ByteBuffer.wrap(frame, frame.length - Integer.BYTES, Integer.BYTES).putInt(-2);
+        assertThatThrownBy(() -> RpcCodec.decodeResponse(frame)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void shouldRejectTruncatedAndUnknownFrames() {
+        byte[] frame = RpcCodec.encodeRequest(5, new RpcRequest.AddLink(1L, URL, Set.of("a"), Set.of()));
+
+        assertThatThrownBy(() -> RpcCodec.decodeRequest(Arrays.copyOf(frame, frame.length - 1)))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> RpcCodec.decodeRequest(new byte[] {2, 0, 0, 0, 5, 99}))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> RpcCodec.decodeRequest(new byte[] {1, 0, 0, 0, 5, 1}))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void shouldReadStreamIdOnlyFromValidHeader() {
+        assertThat(RpcCodec.readStreamId(new byte[] {2, 0, 0, 1, 0, 99})).hasValue(256);
+        assertThat(RpcCodec.readStreamId(new byte[] {2, 0, 0})).isEmpty();
+        assertThat(RpcCodec.readStreamId(new byte[] {1, 0, 0, 0, 1})).isEmpty();
+    }
+}
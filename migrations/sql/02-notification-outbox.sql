@@ -0,0 +1,15 @@
+-- liquibase formatted sql
+
+-- changeset ArtemDemyanov:init_notification_outbox_table
+CREATE TABLE IF NOT EXISTS "notification_outbox"
+(
+    "id"           bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    "link_id"      bigint                   NOT NULL,
+    "payload"      text                     NOT NULL,
+    "created_at"   timestamp with time zone NOT NULL DEFAULT now(),
+    "attempts"     integer                  NOT NULL DEFAULT 0,
+    "locked_until" timestamp with time zone NULL
+);
+
+-- changeset ArtemDemyanov:init_notification_outbox_indexes
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_locked_until ON "notification_outbox" ("locked_until", "id");
@@ -0,0 +1,4 @@
+-- liquibase formatted sql
+
+-- changeset ArtemDemyanov:add_chat_links_version
+ALTER TABLE "chat" ADD COLUMN IF NOT EXISTS "links_version" bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- liquibase formatted sql
+
+-- changeset ArtemDemyanov:add_link_tag_chat_link_index
+CREATE INDEX IF NOT EXISTS idx_link_tag_chat_link ON "link_tag" ("chat_id", "link_id");
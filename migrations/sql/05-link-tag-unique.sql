@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset ArtemDemyanov:dedupe_link_tag
+DELETE FROM "link_tag" a
+    USING "link_tag" b
+WHERE a."id" > b."id"
+  AND a."link_id" = b."link_id"
+  AND a."tag_id" = b."tag_id"
+  AND a."chat_id" = b."chat_id";
+
+-- changeset ArtemDemyanov:add_link_tag_unique_index
+CREATE UNIQUE INDEX IF NOT EXISTS uq_link_tag_link_tag_chat ON "link_tag" ("link_id", "tag_id", "chat_id");
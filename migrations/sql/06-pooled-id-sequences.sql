@@ -0,0 +1,23 @@
+-- liquibase formatted sql
+
+-- Идентификаторы link, tag и link_tag выдаются последовательностями с шагом 50: ORM резервирует сразу диапазон
+-- значений (pooled-оптимизатор) и может пакетировать вставки, а SQL-реализация по-прежнему берет значение по умолчанию.
+-- Начальное значение сдвинуто на шаг, чтобы первый диапазон ORM не пересекся с уже существующими строками.
+
+-- changeset ArtemDemyanov:link_id_sequence
+ALTER TABLE "link" ALTER COLUMN "id" DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS "link_seq" INCREMENT BY 50 OWNED BY "link"."id";
+SELECT setval('link_seq', COALESCE((SELECT max("id") FROM "link"), 0) + 50, false);
+ALTER TABLE "link" ALTER COLUMN "id" SET DEFAULT nextval('link_seq');
+
+-- changeset ArtemDemyanov:tag_id_sequence
+ALTER TABLE "tag" ALTER COLUMN "id" DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS "tag_seq" INCREMENT BY 50 OWNED BY "tag"."id";
+SELECT setval('tag_seq', COALESCE((SELECT max("id") FROM "tag"), 0) + 50, false);
+ALTER TABLE "tag" ALTER COLUMN "id" SET DEFAULT nextval('tag_seq');
+
+-- changeset ArtemDemyanov:link_tag_id_sequence
+ALTER TABLE "link_tag" ALTER COLUMN "id" DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS "link_tag_seq" INCREMENT BY 50 OWNED BY "link_tag"."id";
+SELECT setval('link_tag_seq', COALESCE((SELECT max("id") FROM "link_tag"), 0) + 50, false);
+ALTER TABLE "link_tag" ALTER COLUMN "id" SET DEFAULT nextval('link_tag_seq');
@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset ArtemDemyanov:init_notification_outbox_dead_letter_table
+CREATE TABLE IF NOT EXISTS "notification_outbox_dead_letter"
+(
+    "id"         bigint                   NOT NULL PRIMARY KEY,
+    "link_id"    bigint                   NOT NULL,
+    "payload"    text                     NOT NULL,
+    "created_at" timestamp with time zone NOT NULL,
+    "attempts"   integer                  NOT NULL,
+    "dead_at"    timestamp with time zone NOT NULL DEFAULT now()
+);
@@ -1,7 +1,10 @@
 package backend.academy.scrapper.config;
 
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -11,7 +14,11 @@ public record ScrapperConfig(
         AppProperties app,
         GitHubProperties github,
         StackOverflowProperties stackoverflow,
-        SchedulingProperties scheduling) {
+        SchedulingProperties scheduling,
+        OutboxProperties outbox,
+        HttpNotificationProperties httpNotification,
+        RpcProperties rpc,
+        BulkProperties bulk) {
     public record AppProperties(
             @NotEmpty String accessType, @NotEmpty String botUrl, @NotEmpty String messageTransport) {}
 
@@ -22,4 +29,42 @@ public record ScrapperConfig(
     }
 
     public record SchedulingProperties(@Positive int batchSize) {}
+
+    /**
+     * Настройки доставки уведомлений из outbox.
+     *
+     * @param batchSize Размер захватываемой пачки.
+     * @param lease Время аренды пачки одним узлом.
+     * @param pollInterval Пауза между опросами таблицы.
+     * @param maxAttempts Число попыток, после которого сообщение переносится в dead letter.
+     */
+    public record OutboxProperties(
+            @Positive int batchSize,
+            @NotNull Duration lease,
+            @NotNull Duration pollInterval,
+            @Positive int maxAttempts) {}
+
+    public record HttpNotificationProperties(
+            @Positive int batchSize,
+            @NotNull Duration batchDelay,
+            @Positive int concurrency,
+            @Positive int maxConnections,
+            @NotEmpty String botApiKey) {}
+
+    /**
+     * Настройки бинарного RPC-канала, который обслуживается рядом с REST API.
+     *
+     * @param enabled Принимать ли RPC-соединения.
+     * @param port TCP-порт канала; {@code 0} - любой свободный.
+     * @param concurrency Число одновременно обрабатываемых вызовов одного соединения.
+     */
+    public record RpcProperties(boolean enabled, @PositiveOrZero int port, @Positive int concurrency) {}
+
+    /**
+     * Настройки массового импорта и экспорта ссылок.
+     *
+     * @param importChunkSize Количество строк импорта в одной транзакции.
+     * @param exportPageSize Количество ссылок, читаемых из базы за один запрос при экспорте.
+     */
+    public record BulkProperties(@Positive int importChunkSize, @Positive int exportPageSize) {}
 }
@@ -6,6 +6,7 @@ import backend.academy.scrapper.domain.jdbc.dao.LinkDao;
 import backend.academy.scrapper.domain.jdbc.dao.LinkTagDao;
 import backend.academy.scrapper.domain.jdbc.dao.TagDao;
 import backend.academy.scrapper.domain.jpa.repository.ChatRepository;
+import backend.academy.scrapper.domain.jpa.repository.LinkBatchReader;
 import backend.academy.scrapper.domain.jpa.repository.LinkRepository;
 import backend.academy.scrapper.domain.jpa.repository.TagRepository;
 import backend.academy.scrapper.service.link.LinkService;
@@ -21,8 +22,11 @@ public class ServiceConfig {
     @Bean
     @ConditionalOnProperty(prefix = "app.app", name = "access-type", havingValue = "ORM")
     public LinkService ormLinkService(
-            LinkRepository linkRepository, TagRepository tagRepository, ChatRepository chatRepository) {
-        return new ORMLinkService(linkRepository, tagRepository, chatRepository);
+            LinkRepository linkRepository,
+            TagRepository tagRepository,
+            ChatRepository chatRepository,
+            LinkBatchReader linkBatchReader) {
+        return new ORMLinkService(linkRepository, tagRepository, chatRepository, linkBatchReader);
     }
 
     @Bean
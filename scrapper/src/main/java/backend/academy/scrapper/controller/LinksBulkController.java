@@ -0,0 +1,84 @@
+package backend.academy.scrapper.controller;
+
+import backend.academy.dto.response.ApiErrorResponse;
+import backend.academy.dto.response.LinkImportResponse;
+import backend.academy.scrapper.service.link.LinkBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class LinksBulkController {
+
+    private final LinkBulkService linkBulkService;
+
+    /**
+     * Импортирует отслеживаемые ссылки из NDJSON: по одному объекту {@code {chatId, link, tags, filters}} на строку.
+     * Отсутствующие чаты регистрируются.
+     *
+     * @param request Запрос с телом в формате application/x-ndjson.
+     * @return LinkImportResponse Количество импортированных строк и транзакций.
+     */
+    @Operation(summary = "Массовый импорт ссылок")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Ссылки импортированы",
+                        content = @Content(schema = @Schema(implementation = LinkImportResponse.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Некорректная строка импорта",
+                        content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            })
+    @PostMapping(value = "/links/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public LinkImportResponse importLinks(HttpServletRequest request) throws IOException {
+        return linkBulkService.importLinks(request.getInputStream());
+    }
+
+    /**
+     * Выгружает отслеживаемые ссылки потоком NDJSON в формате импорта.
+     *
+     * @param chatId Чат для выгрузки; без него выгружаются все чаты.
+     * @return Поток ссылок в формате application/x-ndjson.
+     */
+    @Operation(summary = "Массовый экспорт ссылок")
+    @GetMapping(value = "/links/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLinks(@RequestParam(required = false) Long chatId) {
+        log.debug("Exporting links for chat: {}", chatId != null ? chatId : "all");
+        StreamingResponseBody body = out -> linkBulkService.exportLinks(chatId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Обрабатывает ошибки разбора строк импорта.
+     *
+     * @param ex Исключение с номером некорректной строки.
+     * @return ApiErrorResponse Ответ с информацией об ошибке.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrorResponse handleException(IllegalArgumentException ex) {
+        log.warn("Bulk import rejected: {}", ex.getMessage());
+        return new ApiErrorResponse(
+                "Bad request", HttpStatus.BAD_REQUEST.toString(), ex.getClass().getSimpleName(), ex.getMessage(), null);
+    }
+}
@@ -6,16 +6,25 @@ import backend.academy.dto.response.ApiErrorResponse;
 import backend.academy.dto.response.LinkResponse;
 import backend.academy.dto.response.ListLinksResponse;
 import backend.academy.scrapper.service.link.LinkService;
+import backend.academy.scrapper.service.link.VersionedLink;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,14 +34,31 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
-@RequiredArgsConstructor
 public class LinksController {
     private static final String TG_CHAT_ID_HEADER = "Tg-Chat-Id";
+    private static final String LINKS_VERSION_HEADER = "Links-Version";
+    private static final String NEXT_CURSOR_HEADER = "Links-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_PAGE_SIZE = 500;
 
     private final LinkService linkService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate snapshotTransaction;
+
+    public LinksController(
+            LinkService linkService, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.linkService = linkService;
+        this.objectMapper = objectMapper;
+        // все страницы потока читаются из одного снимка базы, чтобы содержимое совпадало с объявленной версией
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setReadOnly(true);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
 
     /**
      * Sanitizes input to prevent CRLF injection.
@@ -49,10 +75,16 @@ public class LinksController {
     }
 
     /**
-     * Получает все отслеживаемые ссылки для указанного чата.
+     * Получает отслеживаемые ссылки для указанного чата: все сразу или страницами, если передан {@code limit}.
+     *
+     * <p>ETag ответа построен по версии списка ссылок чата, поэтому запрос с совпадающим If-None-Match получает 304
+     * без чтения ссылок из базы.
      *
      * @param chatId Идентификатор чата (передается в заголовке запроса).
-     * @return ListLinksResponse Список отслеживаемых ссылок.
+     * @param cursor Курсор из заголовка Links-Next-Cursor предыдущей страницы.
+     * @param limit Размер страницы (не больше 1000); без него возвращается весь список.
+     * @return ListLinksResponse Список отслеживаемых ссылок; версия списка передается в заголовке Links-Version, курсор
+     *     следующей страницы - в заголовке Links-Next-Cursor.
      */
     @Operation(summary = "Получить все отслеживаемые ссылки")
     @ApiResponses(
@@ -61,17 +93,70 @@ public class LinksController {
                         responseCode = "200",
                         description = "Ссылки успешно получены",
                         content = @Content(schema = @Schema(implementation = ListLinksResponse.class))),
+                @ApiResponse(responseCode = "304", description = "Список ссылок не изменился"),
                 @ApiResponse(
                         responseCode = "400",
                         description = "Некорректные параметры запроса",
                         content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
             })
     @GetMapping("/links")
-    public ListLinksResponse getLinks(@RequestHeader(TG_CHAT_ID_HEADER) Long chatId) {
+    public ResponseEntity<ListLinksResponse> getLinks(
+            @RequestHeader(TG_CHAT_ID_HEADER) Long chatId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
         String sanitizedChatId = sanitizeInput(chatId.toString());
         log.debug("Getting links for chat: {}", sanitizedChatId);
-        Set<LinkResponse> links = linkService.getLinks(chatId);
-        return new ListLinksResponse(List.copyOf(links), links.size());
+        long version = linkService.getLinksVersion(chatId);
+        String etag = linksEtag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (limit == null) {
+            Set<LinkResponse> links = linkService.getLinks(chatId);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .header(LINKS_VERSION_HEADER, String.valueOf(version))
+                    .body(new ListLinksResponse(List.copyOf(links), links.size()));
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return page(etag, version, pageSize, linkService.getLinksPage(chatId, cursor, pageSize));
+    }
+
+    /**
+     * Передает все ссылки чата потоком NDJSON: по одному объекту LinkResponse на строку.
+     *
+     * <p>Ссылки читаются из базы страницами, поэтому ни скраппер, ни клиент не держат весь список в одном документе.
+     * Версия списка и ETag передаются в заголовках, как у {@code GET /links}. Все страницы читаются в одной транзакции
+     * из одного снимка; если список изменился между отправкой заголовков и началом чтения, поток обрывается, и клиент
+     * не примет неполный ответ за список объявленной версии.
+     *
+     * @param chatId Идентификатор чата (передается в заголовке запроса).
+     * @return Поток ссылок в формате application/x-ndjson или 304, если список не изменился.
+     */
+    @Operation(summary = "Получить все отслеживаемые ссылки потоком NDJSON")
+    @GetMapping(value = "/links/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLinks(
+            @RequestHeader(TG_CHAT_ID_HEADER) Long chatId, WebRequest webRequest) {
+        String sanitizedChatId = sanitizeInput(chatId.toString());
+        log.debug("Streaming links for chat: {}", sanitizedChatId);
+        long version = linkService.getLinksVersion(chatId);
+        String etag = linksEtag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        StreamingResponseBody body = out -> snapshotTransaction.executeWithoutResult(status -> {
+            try {
+                writeLinks(out, chatId, version);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .eTag(etag)
+                .header(LINKS_VERSION_HEADER, String.valueOf(version))
+                .body(body);
     }
 
     /**
@@ -79,7 +164,7 @@ public class LinksController {
      *
      * @param chatId Идентификатор чата (передается в заголовке запроса).
      * @param request Запрос на добавление ссылки, содержащий URL, теги и фильтры.
-     * @return LinkResponse Добавленная ссылка.
+     * @return LinkResponse Добавленная ссылка; новая версия списка передается в заголовке Links-Version.
      */
     @Operation(summary = "Добавить отслеживание ссылки")
     @ApiResponses(
@@ -94,13 +179,16 @@ public class LinksController {
                         content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
             })
     @PostMapping("/links")
-    public LinkResponse addLink(@RequestHeader(TG_CHAT_ID_HEADER) Long chatId, @RequestBody AddLinkRequest request) {
+    public ResponseEntity<LinkResponse> addLink(
+            @RequestHeader(TG_CHAT_ID_HEADER) Long chatId, @RequestBody AddLinkRequest request) {
         String sanitizedChatId = sanitizeInput(chatId.toString());
         String sanitizedLink = sanitizeInput(String.valueOf(request.link()));
         log.debug("Adding link for chat: {}, url: {}", sanitizedChatId, sanitizedLink);
         LinkResponse linkResponse = new LinkResponse(null, request.link(), request.tags(), request.filters());
-        linkService.addLink(chatId, linkResponse);
-        return linkResponse;
+        VersionedLink saved = linkService.addLink(chatId, linkResponse);
+        return ResponseEntity.ok()
+                .header(LINKS_VERSION_HEADER, String.valueOf(saved.linksVersion()))
+                .body(saved.link());
     }
 
     /**
@@ -108,6 +196,7 @@ public class LinksController {
      *
      * @param chatId Идентификатор чата (передается в заголовке запроса).
      * @param request Запрос на удаление ссылки, содержащий URL.
+     * @return Пустой ответ; новая версия списка передается в заголовке Links-Version.
      */
     @Operation(summary = "Убрать отслеживание ссылки")
     @ApiResponses(
@@ -123,12 +212,13 @@ public class LinksController {
                         content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
             })
     @DeleteMapping("/links")
-    @ResponseStatus(HttpStatus.OK)
-    public void removeLink(@RequestHeader(TG_CHAT_ID_HEADER) Long chatId, @RequestBody RemoveLinkRequest request) {
+    public ResponseEntity<Void> removeLink(
+            @RequestHeader(TG_CHAT_ID_HEADER) Long chatId, @RequestBody RemoveLinkRequest request) {
         String sanitizedChatId = sanitizeInput(chatId.toString());
         String sanitizedLink = sanitizeInput(String.valueOf(request.link()));
         log.debug("Removing link for chat: {}, url: {}", sanitizedChatId, sanitizedLink);
-        linkService.removeLink(chatId, request.link());
+        long version = linkService.removeLink(chatId, request.link());
+        return ResponseEntity.ok().header(LINKS_VERSION_HEADER, String.valueOf(version)).build();
     }
 
     /**
@@ -150,17 +240,68 @@ public class LinksController {
      *
      * @param chatId Идентификатор чата (передается в заголовке запроса).
      * @param tags Множество тегов для фильтрации ссылок.
-     * @return ListLinksResponse Список ссылок, соответствующих указанным тегам.
+     * @param cursor Курсор из заголовка Links-Next-Cursor предыдущей страницы.
+     * @param limit Размер страницы (не больше 1000); без него возвращаются все подходящие ссылки.
+     * @return ListLinksResponse Список ссылок, соответствующих указанным тегам; ETag и курсор - как у
+     *     {@code GET /links}.
      */
     @Operation(summary = "Получить ссылки по тегам")
     @GetMapping("/links/tags")
-    public ListLinksResponse getLinksByTags(
-            @RequestHeader(TG_CHAT_ID_HEADER) Long chatId, @RequestParam Set<String> tags) {
+    public ResponseEntity<ListLinksResponse> getLinksByTags(
+            @RequestHeader(TG_CHAT_ID_HEADER) Long chatId,
+            @RequestParam Set<String> tags,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
         String sanitizedChatId = sanitizeInput(chatId.toString());
         String sanitizedTags = sanitizeInput(tags.toString());
         log.debug("Getting links by tags for chat: {}, tags: {}", sanitizedChatId, sanitizedTags);
-        Set<LinkResponse> links = linkService.getLinksByTags(chatId, tags);
-        return new ListLinksResponse(List.copyOf(links), links.size());
+        long version = linkService.getLinksVersion(chatId);
+        // теги входят в URL, поэтому ETag по версии однозначно описывает ответ для набора тегов
+        String etag = linksEtag(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (limit == null) {
+            Set<LinkResponse> links = linkService.getLinksByTags(chatId, tags);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .header(LINKS_VERSION_HEADER, String.valueOf(version))
+                    .body(new ListLinksResponse(List.copyOf(links), links.size()));
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return page(etag, version, pageSize, linkService.getLinksByTagsPage(chatId, tags, cursor, pageSize));
+    }
+
+    private void writeLinks(OutputStream out, Long chatId, long version) throws IOException {
+        if (linkService.getLinksVersion(chatId) != version) {
+            throw new IllegalStateException("Links of chat " + chatId + " changed before streaming started");
+        }
+        Long cursor = null;
+        List<LinkResponse> page;
+        do {
+            page = linkService.getLinksPage(chatId, cursor, STREAM_PAGE_SIZE);
+            for (LinkResponse link : page) {
+                out.write(objectMapper.writeValueAsBytes(link));
+                out.write('\n');
+            }
+            out.flush();
+            cursor = page.isEmpty() ? cursor : page.getLast().id();
+        } while (page.size() == STREAM_PAGE_SIZE);
+    }
+
+    private static ResponseEntity<ListLinksResponse> page(
+            String etag, long version, int pageSize, List<LinkResponse> links) {
+        ResponseEntity.BodyBuilder response =
+                ResponseEntity.ok().eTag(etag).header(LINKS_VERSION_HEADER, String.valueOf(version));
+        if (links.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(links.getLast().id()));
+        }
+        return response.body(new ListLinksResponse(links, links.size()));
+    }
+
+    private static String linksEtag(long version) {
+        return "\"" + version + "\"";
     }
 
     /**
@@ -1,6 +1,7 @@
 package backend.academy.scrapper.domain.jdbc.dao;
 
 import backend.academy.scrapper.domain.jdbc.dto.Chat;
+import java.util.List;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -17,7 +18,26 @@ public class ChatDao {
         jdbcTemplate.update("INSERT INTO chat (id) VALUES (?) ON CONFLICT DO NOTHING", chat.id());
     }
 
+    /** Удаляет чат вместе с ссылками, на которые кроме него никто не подписан. Связи и теги удаляются каскадно. */
     public void delete(Long chatId) {
-        jdbcTemplate.update("DELETE FROM chat WHERE id = ?", chatId);
+        jdbcTemplate.update(
+                "WITH removed AS (DELETE FROM chat_link WHERE chat_id = ? RETURNING link_id), "
+                        + "orphans AS ("
+                        + "DELETE FROM link l USING removed r WHERE l.id = r.link_id AND NOT EXISTS ("
+                        + "SELECT 1 FROM chat_link cl WHERE cl.link_id = r.link_id AND cl.chat_id <> ?)) "
+                        + "DELETE FROM chat WHERE id = ?",
+                chatId,
+                chatId,
+                chatId);
+    }
+
+    public void incrementLinksVersion(Long chatId) {
+        jdbcTemplate.update("UPDATE chat SET links_version = links_version + 1 WHERE id = ?", chatId);
+    }
+
+    public long findLinksVersion(Long chatId) {
+        List<Long> versions =
+                jdbcTemplate.queryForList("SELECT links_version FROM chat WHERE id = ?", Long.class, chatId);
+        return versions.isEmpty() ? 0 : versions.getFirst();
     }
 }
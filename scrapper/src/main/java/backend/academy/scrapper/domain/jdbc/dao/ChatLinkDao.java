@@ -1,6 +1,10 @@
 package backend.academy.scrapper.domain.jdbc.dao;
 
+import backend.academy.scrapper.domain.jdbc.dto.Subscription;
+import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -25,4 +29,79 @@ public class ChatLinkDao {
     public List<Long> findChatIdsByLinkId(Long linkId) {
         return jdbcTemplate.queryForList("SELECT chat_id FROM chat_link WHERE link_id = ?", Long.class, linkId);
     }
+
+    /**
+     * Подписывает чат на ссылку с тегами и увеличивает версию списка ссылок чата.
+     *
+     * <p>Первый запрос добавляет недостающие ссылку и теги, второй по уже видимым строкам создает связи. Если ссылку
+     * или тег одновременно добавляет другая транзакция, {@code ON CONFLICT DO NOTHING} дожидается только ее вставки,
+     * не блокируя существующие строки, а второй запрос видит результат.
+     *
+     * @return Идентификатор ссылки и новая версия списка ссылок чата или пустое значение, если ссылку успели удалить
+     *     между запросами.
+     */
+    public Optional<Subscription> subscribe(Long chatId, String url, String filter, String[] tags) {
+        jdbcTemplate.update(
+                "WITH new_link AS ("
+                        + "INSERT INTO link (url, filter, created_at, checked_at, updated_at) "
+                        + "VALUES (?, ?, now(), now(), now()) ON CONFLICT (url) DO NOTHING) "
+                        + "INSERT INTO tag (name) SELECT DISTINCT unnest(?::text[]) ON CONFLICT (name) DO NOTHING",
+                (PreparedStatement ps) -> {
+                    ps.setString(1, url);
+                    ps.setString(2, filter);
+                    ps.setArray(3, ps.getConnection().createArrayOf("text", tags));
+                });
+        List<Subscription> subscriptions = jdbcTemplate.query(
+                "WITH link_row AS (SELECT id FROM link WHERE url = ?), "
+                        + "chat_link_row AS ("
+                        + "INSERT INTO chat_link (chat_id, link_id) SELECT ?, id FROM link_row "
+                        + "ON CONFLICT DO NOTHING), "
+                        + "link_tag_rows AS ("
+                        + "INSERT INTO link_tag (link_id, tag_id, chat_id) "
+                        + "SELECT l.id, t.id, ? FROM link_row l JOIN tag t ON t.name = ANY(?::text[]) "
+                        + "ON CONFLICT DO NOTHING), "
+                        + "version AS ("
+                        + "UPDATE chat SET links_version = links_version + 1 WHERE id = ? RETURNING links_version) "
+                        + "SELECT l.id, v.links_version FROM link_row l CROSS JOIN version v",
+                (PreparedStatement ps) -> {
+                    ps.setString(1, url);
+                    ps.setLong(2, chatId);
+                    ps.setLong(3, chatId);
+                    ps.setArray(4, ps.getConnection().createArrayOf("text", tags));
+                    ps.setLong(5, chatId);
+                },
+                (rs, rowNum) -> new Subscription(rs.getLong(1), rs.getLong(2)));
+        return subscriptions.stream().findFirst();
+    }
+
+    /**
+     * Отписывает чат от ссылки одним запросом: удаляет связь и теги чата, саму ссылку - если на нее больше никто не
+     * подписан, и увеличивает версию списка ссылок чата.
+     *
+     * @return Новая версия списка ссылок чата или пустое значение, если ссылки с таким URL нет.
+     */
+    public OptionalLong unsubscribe(Long chatId, String url) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "WITH target AS (SELECT id FROM link WHERE url = ?), "
+                        + "removed AS ("
+                        + "DELETE FROM chat_link cl USING target t WHERE cl.chat_id = ? AND cl.link_id = t.id "
+                        + "RETURNING cl.link_id), "
+                        + "removed_tags AS ("
+                        + "DELETE FROM link_tag lt USING target t WHERE lt.link_id = t.id AND lt.chat_id = ?), "
+                        // подзапрос видит строки до удаления в этом же запросе, поэтому свою связь исключаем явно
+                        + "orphan AS ("
+                        + "DELETE FROM link l USING removed r WHERE l.id = r.link_id AND NOT EXISTS ("
+                        + "SELECT 1 FROM chat_link cl WHERE cl.link_id = r.link_id AND cl.chat_id <> ?)), "
+                        + "version AS ("
+                        + "UPDATE chat SET links_version = links_version + 1 "
+                        + "WHERE id = ? AND EXISTS (SELECT 1 FROM target) RETURNING links_version) "
+                        + "SELECT links_version FROM version",
+                Long.class,
+                url,
+                chatId,
+                chatId,
+                chatId,
+                chatId);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.getFirst());
+    }
 }
@@ -0,0 +1,171 @@
+package backend.academy.scrapper.domain.jdbc.dao;
+
+import backend.academy.dto.request.LinkImportRecord;
+import java.net.URI;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Множественные операции над ссылками для импорта и экспорта.
+ *
+ * <p>Каждый шаг импорта - один оператор над массивами, развернутыми через {@code unnest}, поэтому пачка записей
+ * обходится фиксированным числом обращений к базе независимо от ее размера и количества тегов.
+ */
+@Repository
+public class LinkBulkDao {
+
+    private static final String FILTER_SEPARATOR = "|";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LinkBulkDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Сохраняет пачку записей импорта: чаты, ссылки, теги, связи и версии списков чатов.
+     *
+     * <p>Уже существующие ссылки, теги и связи пропускаются, как и при добавлении ссылки через API. Версия списка
+     * увеличивается только у чатов, получивших новую связь или новый тег, поэтому повторный импорт не сбрасывает кэш
+     * бота.
+     */
+    public void upsert(List<LinkImportRecord> records) {
+        int size = records.size();
+        Long[] chatIds = new Long[size];
+        String[] urls = new String[size];
+        String[] filters = new String[size];
+        List<Long> tagChatIds = new ArrayList<>();
+        List<String> tagUrls = new ArrayList<>();
+        List<String> tagNames = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            LinkImportRecord record = records.get(i);
+            chatIds[i] = record.chatId();
+            urls[i] = record.link().toString();
+            filters[i] = record.filters() == null ? "" : String.join(FILTER_SEPARATOR, record.filters());
+            if (record.tags() != null) {
+                for (String tag : record.tags()) {
+                    tagChatIds.add(record.chatId());
+                    tagUrls.add(urls[i]);
+                    tagNames.add(tag);
+                }
+            }
+        }
+        Long[] distinctChatIds = Arrays.stream(chatIds).distinct().toArray(Long[]::new);
+
+        update("INSERT INTO chat (id) SELECT unnest(?::bigint[]) ON CONFLICT DO NOTHING", distinctChatIds);
+        update(
+                "INSERT INTO link (url, filter, created_at, checked_at, updated_at) "
+                        + "SELECT t.url, t.filter, now(), now(), now() "
+                        + "FROM unnest(?::text[], ?::text[]) AS t(url, filter) "
+                        + "ON CONFLICT (url) DO NOTHING",
+                urls,
+                filters);
+        Set<Long> changedChatIds = new HashSet<>(changedChats(
+                "INSERT INTO chat_link (chat_id, link_id) "
+                        + "SELECT t.chat_id, l.id FROM unnest(?::bigint[], ?::text[]) AS t(chat_id, url) "
+                        + "JOIN link l ON l.url = t.url "
+                        + "ON CONFLICT DO NOTHING",
+                chatIds,
+                urls));
+        if (!tagNames.isEmpty()) {
+            update(
+                    "INSERT INTO tag (name) SELECT DISTINCT unnest(?::text[]) ON CONFLICT DO NOTHING",
+                    tagNames.toArray(String[]::new));
+            changedChatIds.addAll(changedChats(
+                    "INSERT INTO link_tag (link_id, tag_id, chat_id) "
+                            + "SELECT l.id, tg.id, t.chat_id "
+                            + "FROM unnest(?::bigint[], ?::text[], ?::text[]) AS t(chat_id, url, tag) "
+                            + "JOIN link l ON l.url = t.url "
+                            + "JOIN tag tg ON tg.name = t.tag "
+                            + "ON CONFLICT DO NOTHING",
+                    tagChatIds.toArray(Long[]::new),
+                    tagUrls.toArray(String[]::new),
+                    tagNames.toArray(String[]::new)));
+        }
+        if (!changedChatIds.isEmpty()) {
+            // закэшированные в боте списки этих чатов должны перечитаться
+            update(
+                    "UPDATE chat SET links_version = links_version + 1 WHERE id = ANY(?::bigint[])",
+                    changedChatIds.toArray(Long[]::new));
+        }
+    }
+
+    /**
+     * Возвращает страницу отслеживаемых ссылок в порядке (чат, ссылка) после указанной позиции.
+     *
+     * @param chatId Чат для выгрузки или {@code null} для всех чатов.
+     * @param afterChatId Чат последней выгруженной записи.
+     * @param afterLinkId Ссылка последней выгруженной записи.
+     * @param limit Размер страницы.
+     */
+    public List<ExportedLink> findExportPage(Long chatId, long afterChatId, long afterLinkId, int limit) {
+        String sql = "SELECT cl.chat_id, l.id, l.url, l.filter, "
+                + "array_remove(array_agg(t.name), NULL) AS tags "
+                + "FROM chat_link cl "
+                + "JOIN link l ON l.id = cl.link_id "
+                + "LEFT JOIN link_tag lt ON lt.link_id = cl.link_id AND lt.chat_id = cl.chat_id "
+                + "LEFT JOIN tag t ON t.id = lt.tag_id "
+                + "WHERE (cl.chat_id, cl.link_id) > (?, ?) "
+                + (chatId != null ? "AND cl.chat_id = ? " : "")
+                + "GROUP BY cl.chat_id, l.id "
+                + "ORDER BY cl.chat_id, l.id "
+                + "LIMIT ?";
+        Object[] args = chatId != null
+                ? new Object[] {afterChatId, afterLinkId, chatId, limit}
+                : new Object[] {afterChatId, afterLinkId, limit};
+        return jdbcTemplate.query(sql, this::mapRowToExportedLink, args);
+    }
+
+    private void update(String sql, Object[]... arrays) {
+        jdbcTemplate.update(sql, (PreparedStatement ps) -> bindArrays(ps, arrays));
+    }
+
+    /** Выполняет вставку и возвращает чаты, для которых действительно добавлены строки. */
+    private List<Long> changedChats(String insertSql, Object[]... arrays) {
+        return jdbcTemplate.query(
+                "WITH inserted AS (" + insertSql + " RETURNING chat_id) SELECT DISTINCT chat_id FROM inserted",
+                (PreparedStatement ps) -> bindArrays(ps, arrays),
+                (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private static void bindArrays(PreparedStatement ps, Object[]... arrays) throws SQLException {
+        for (int i = 0; i < arrays.length; i++) {
+            Object[] values = arrays[i];
+            String type = values instanceof Long[] ? "bigint" : "text";
+            ps.setArray(i + 1, ps.getConnection().createArrayOf(type, values));
+        }
+    }
+
+    private ExportedLink mapRowToExportedLink(ResultSet rs, @SuppressWarnings("unused") int rowNum)
+            throws SQLException {
+        Array tags = rs.getArray("tags");
+        String filter = rs.getString("filter");
+        LinkImportRecord record = new LinkImportRecord(
+                rs.getLong("chat_id"),
+                URI.create(rs.getString("url")),
+                new LinkedHashSet<>(Arrays.asList((String[]) tags.getArray())),
+                filter == null || filter.isEmpty()
+                        ? Set.of()
+                        : Arrays.stream(filter.split("\\" + FILTER_SEPARATOR)).collect(Collectors.toSet()));
+        return new ExportedLink(rs.getLong("id"), record);
+    }
+
+    /**
+     * Выгруженная ссылка вместе с идентификатором, по которому продолжается выгрузка.
+     *
+     * @param linkId Идентификатор ссылки.
+     * @param record Запись в формате импорта.
+     */
+    public record ExportedLink(long linkId, LinkImportRecord record) {}
+}
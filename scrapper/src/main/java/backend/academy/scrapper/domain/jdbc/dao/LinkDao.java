@@ -62,6 +62,13 @@ public class LinkDao {
         return jdbcTemplate.query(sql, this::mapRowToLink, chatId);
     }
 
+    public List<Link> findPageByChatId(Long chatId, long afterId, int limit) {
+        // курсор по link_id идет по первичному ключу chat_link (chat_id, link_id) без сортировки всего списка
+        String sql = "SELECT l.* FROM chat_link cl JOIN link l ON l.id = cl.link_id "
+                + "WHERE cl.chat_id = ? AND cl.link_id > ? ORDER BY cl.link_id LIMIT ?";
+        return jdbcTemplate.query(sql, this::mapRowToLink, chatId, afterId, limit);
+    }
+
     private Link mapRowToLink(ResultSet rs, @SuppressWarnings("unused") int rowNum) throws SQLException {
         return new Link(
                 rs.getLong("id"),
@@ -72,9 +79,9 @@ public class LinkDao {
                 rs.getObject("updated_at", OffsetDateTime.class));
     }
 
-    public List<Link> findBatch(int offset, int batchSize) {
-        String sql = "SELECT * FROM link ORDER BY id LIMIT ? OFFSET ?";
-        return jdbcTemplate.query(sql, this::mapRowToLink, batchSize, offset);
+    public List<Link> findBatch(long afterId, int batchSize) {
+        String sql = "SELECT * FROM link WHERE id > ? ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, this::mapRowToLink, afterId, batchSize);
     }
 
     public List<Link> findAllByChatIdAndTags(Long chatId, Set<String> tags) {
@@ -95,4 +102,24 @@ public class LinkDao {
 
         return namedParameterJdbcTemplate.query(sql, params, this::mapRowToLink);
     }
+
+    public List<Link> findPageByChatIdAndTags(Long chatId, Set<String> tags, long afterId, int limit) {
+        if (tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String sql = "SELECT l.* FROM link l JOIN chat_link cl ON l.id = cl.link_id "
+                + "WHERE cl.chat_id = :chatId AND l.id > :afterId "
+                + "AND EXISTS (SELECT 1 FROM link_tag lt JOIN tag t ON lt.tag_id = t.id "
+                + "WHERE lt.link_id = l.id AND lt.chat_id = :chatId AND t.name IN (:tags)) "
+                + "ORDER BY l.id LIMIT :limit";
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("chatId", chatId);
+        params.addValue("tags", tags);
+        params.addValue("afterId", afterId);
+        params.addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.query(sql, params, this::mapRowToLink);
+    }
 }
@@ -20,7 +20,7 @@ public class LinkTagDao {
 
     public void save(LinkTag linkTag) {
         jdbcTemplate.update(
-                "INSERT INTO link_tag (link_id, tag_id, chat_id) VALUES (?, ?, ?)",
+                "INSERT INTO link_tag (link_id, tag_id, chat_id) VALUES (?, ?, ?) ON CONFLICT DO NOTHING",
                 linkTag.linkId(),
                 linkTag.tagId(),
                 linkTag.chatId());
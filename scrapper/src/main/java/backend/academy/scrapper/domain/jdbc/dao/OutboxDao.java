@@ -0,0 +1,104 @@
+package backend.academy.scrapper.domain.jdbc.dao;
+
+import backend.academy.scrapper.domain.jdbc.dto.OutboxMessage;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class OutboxDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<OutboxMessage> rowMapper = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"), rs.getLong("link_id"), rs.getString("payload"), rs.getInt("attempts"));
+
+    public OutboxDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void save(Long linkId, String payload) {
+        jdbcTemplate.update("INSERT INTO notification_outbox (link_id, payload) VALUES (?, ?)", linkId, payload);
+    }
+
+    /**
+     * Захватывает пачку сообщений на время аренды. Строки, захваченные другим узлом, пропускаются, а сообщения с
+     * истекшей арендой (узел упал до подтверждения) выдаются повторно, пока число попыток меньше {@code maxAttempts}.
+     */
+    public List<OutboxMessage> claimBatch(int batchSize, Duration lease, int maxAttempts) {
+        return jdbcTemplate.query(
+                """
+                UPDATE notification_outbox
+                SET locked_until = now() + ? * interval '1 millisecond', attempts = attempts + 1
+                WHERE id IN (
+                    SELECT id FROM notification_outbox
+                    WHERE (locked_until IS NULL OR locked_until < now()) AND attempts < ?
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, link_id, payload, attempts
+                """,
+                rowMapper,
+                lease.toMillis(),
+                maxAttempts,
+                batchSize);
+    }
+
+    /**
+     * Переносит в {@code notification_outbox_dead_letter} сообщения, исчерпавшие попытки: аренда последней попытки
+     * истекла, а подтверждения так и не было.
+     *
+     * @return Количество перенесенных сообщений.
+     */
+    public int deadLetterExhausted(int maxAttempts) {
+        return jdbcTemplate.update(
+                """
+                WITH dead AS (
+                    DELETE FROM notification_outbox
+                    WHERE id IN (
+                        SELECT id FROM notification_outbox
+                        WHERE attempts >= ? AND (locked_until IS NULL OR locked_until < now())
+                        FOR UPDATE SKIP LOCKED)
+                    RETURNING id, link_id, payload, created_at, attempts)
+                INSERT INTO notification_outbox_dead_letter (id, link_id, payload, created_at, attempts)
+                SELECT id, link_id, payload, created_at, attempts FROM dead
+                """,
+                maxAttempts);
+    }
+
+    /** Сразу переносит в {@code notification_outbox_dead_letter} сообщения, повтор которых бесполезен. */
+    public void deadLetterAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+                """
+                WITH dead AS (
+                    DELETE FROM notification_outbox WHERE id = ANY (?)
+                    RETURNING id, link_id, payload, created_at, attempts)
+                INSERT INTO notification_outbox_dead_letter (id, link_id, payload, created_at, attempts)
+                SELECT id, link_id, payload, created_at, attempts FROM dead
+                """,
+                (Object) ids.toArray(Long[]::new));
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM notification_outbox WHERE id = ANY (?)", (Object) ids.toArray(Long[]::new));
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM notification_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+
+    public long countDeadLetters() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM notification_outbox_dead_letter", Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -3,18 +3,25 @@ package backend.academy.scrapper.domain.jdbc.dao;
 import backend.academy.scrapper.domain.jdbc.dto.Tag;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class TagDao {
 
     private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
     public TagDao(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
     }
 
     public void save(Tag tag) {
@@ -40,4 +47,28 @@ public class TagDao {
                 + "WHERE lt.link_id = ? AND lt.chat_id = ?";
         return new HashSet<>(jdbcTemplate.queryForList(sql, String.class, linkId, chatId));
     }
+
+    /**
+     * Теги, которыми чат пометил каждую из ссылок, одним запросом.
+     *
+     * @return Теги по идентификатору ссылки; ссылок без тегов в результате нет.
+     */
+    public Map<Long, Set<String>> findTagsByChatAndLinkIds(Long chatId, Collection<Long> linkIds) {
+        Map<Long, Set<String>> tags = new HashMap<>();
+        if (linkIds.isEmpty()) {
+            return tags;
+        }
+
+        String sql = "SELECT lt.link_id, t.name FROM link_tag lt JOIN tag t ON t.id = lt.tag_id "
+                + "WHERE lt.chat_id = :chatId AND lt.link_id IN (:linkIds)";
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("chatId", chatId);
+        params.addValue("linkIds", linkIds);
+
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            tags.computeIfAbsent(rs.getLong("link_id"), id -> new HashSet<>()).add(rs.getString("name"));
+        });
+        return tags;
+    }
 }
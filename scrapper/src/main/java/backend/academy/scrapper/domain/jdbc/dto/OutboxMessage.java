@@ -0,0 +1,14 @@
+package backend.academy.scrapper.domain.jdbc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private Long id;
+    private Long linkId;
+    private String payload;
+    private int attempts;
+}
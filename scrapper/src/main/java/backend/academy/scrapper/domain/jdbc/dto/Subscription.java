@@ -0,0 +1,12 @@
+package backend.academy.scrapper.domain.jdbc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Subscription {
+
+    private Long linkId;
+    private long linksVersion;
+}
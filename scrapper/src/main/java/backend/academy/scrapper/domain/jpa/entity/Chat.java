@@ -15,6 +15,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 @Getter
 @Setter
@@ -30,10 +31,14 @@ public class Chat {
     @EqualsAndHashCode.Include
     private Long id;
 
+    @Column(name = "links_version", nullable = false)
+    private long linksVersion;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "Chat_link",
             joinColumns = @JoinColumn(name = "chat_id"),
             inverseJoinColumns = @JoinColumn(name = "link_id"))
+    @BatchSize(size = 50)
     private Set<Link> links = new HashSet<>();
 }
@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.net.URI;
 import java.time.OffsetDateTime;
@@ -20,6 +21,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Getter
@@ -31,7 +33,8 @@ import org.hibernate.annotations.CreationTimestamp;
 public class Link {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "link_seq")
+    @SequenceGenerator(name = "link_seq", sequenceName = "link_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -53,8 +56,10 @@ public class Link {
     private String filter;
 
     @OneToMany(mappedBy = "link", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private Set<LinkTag> linkTags = new HashSet<>();
 
     @ManyToMany(mappedBy = "links", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<Chat> chats = new HashSet<>();
 }
@@ -17,7 +17,8 @@ import lombok.Setter;
 public class LinkTag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "link_tag_seq")
+    @SequenceGenerator(name = "link_tag_seq", sequenceName = "link_tag_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
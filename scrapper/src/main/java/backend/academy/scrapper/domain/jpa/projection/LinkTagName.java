@@ -0,0 +1,9 @@
+package backend.academy.scrapper.domain.jpa.projection;
+
+/**
+ * Имя тега, которым чат отметил ссылку, без загрузки сущностей {@code LinkTag} и {@code Tag}.
+ *
+ * @param linkId Идентификатор ссылки.
+ * @param name Имя тега.
+ */
+public record LinkTagName(Long linkId, String name) {}
@@ -1,8 +1,21 @@
 package backend.academy.scrapper.domain.jpa.repository;
 
 import backend.academy.scrapper.domain.jpa.entity.Chat;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ChatRepository extends JpaRepository<Chat, Long> {}
+public interface ChatRepository extends JpaRepository<Chat, Long> {
+
+    /** Увеличивает версию списка ссылок чата и возвращает новое значение тем же запросом. */
+    @Query(
+            value = "UPDATE chat SET links_version = links_version + 1 WHERE id = :chatId RETURNING links_version",
+            nativeQuery = true)
+    long incrementLinksVersion(@Param("chatId") Long chatId);
+
+    @Query("SELECT c.linksVersion FROM Chat c WHERE c.id = :chatId")
+    Optional<Long> findLinksVersion(@Param("chatId") Long chatId);
+}
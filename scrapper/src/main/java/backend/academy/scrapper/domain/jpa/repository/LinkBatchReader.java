@@ -0,0 +1,51 @@
+package backend.academy.scrapper.domain.jpa.repository;
+
+import backend.academy.scrapper.domain.jpa.entity.Link;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Чтение ссылок планировщиком через {@link StatelessSession}.
+ *
+ * <p>Сессия без контекста персистентности не накапливает загруженные сущности и не проверяет их на изменения, поэтому
+ * обход всей таблицы не растит память и не платит за dirty checking. Возвращаемые ссылки отсоединены: теги и их имена
+ * загружаются сразу, остальные ленивые связи недоступны.
+ */
+@Repository
+public class LinkBatchReader {
+
+    private final SessionFactory sessionFactory;
+
+    public LinkBatchReader(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Возвращает ссылки с идентификаторами больше {@code afterId} в порядке идентификаторов вместе с тегами всех чатов.
+     *
+     * <p>Сначала выбирается пачка идентификаторов, затем ссылки с тегами: подгрузка коллекции в запросе с LIMIT
+     * заставила бы Hibernate пагинировать в памяти. Курсор по идентификатору вместо OFFSET не перечитывает уже
+     * пройденные строки, поэтому каждая пачка стоит одинаково.
+     */
+    public List<Link> findBatchWithTags(long afterId, int batchSize) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            List<Long> ids = session.createSelectionQuery(
+                            "SELECT l.id FROM Link l WHERE l.id > :afterId ORDER BY l.id", Long.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(batchSize)
+                    .getResultList();
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            return session.createSelectionQuery(
+                            "SELECT DISTINCT l FROM Link l LEFT JOIN FETCH l.linkTags lt LEFT JOIN FETCH lt.tag "
+                                    + "WHERE l.id IN :ids",
+                            Link.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        }
+    }
+}
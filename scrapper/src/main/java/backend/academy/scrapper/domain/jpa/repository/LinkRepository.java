@@ -1,14 +1,17 @@
 package backend.academy.scrapper.domain.jpa.repository;
 
 import backend.academy.scrapper.domain.jpa.entity.Link;
-import io.lettuce.core.dynamic.annotation.Param;
 import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,9 +19,40 @@ public interface LinkRepository extends JpaRepository<Link, Long> {
 
     Optional<Link> findByUrl(URI url);
 
+    @EntityGraph(attributePaths = {"linkTags", "linkTags.tag"})
     @Query("SELECT l FROM Link l JOIN l.chats c WHERE c.id = :chatId")
     Set<Link> findAllByChatId(@Param("chatId") Long chatId);
 
-    @Override
-    Page<Link> findAll(Pageable pageable);
+    @EntityGraph(attributePaths = {"linkTags", "linkTags.tag"})
+    @Query("SELECT l FROM Link l JOIN l.chats c WHERE c.id = :chatId "
+            + "AND EXISTS (SELECT 1 FROM LinkTag lt "
+            + "WHERE lt.link = l AND lt.chatId = :chatId AND lt.tag.name IN :tags)")
+    Set<Link> findAllByChatIdAndTags(@Param("chatId") Long chatId, @Param("tags") Set<String> tags);
+
+    @Query("SELECT l.updatedAt FROM Link l WHERE l.id = :id")
+    Optional<OffsetDateTime> findUpdatedAt(@Param("id") Long id);
+
+    @Query("SELECT l.checkedAt FROM Link l WHERE l.id = :id")
+    Optional<OffsetDateTime> findCheckedAt(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Link l SET l.updatedAt = :updatedAt WHERE l.id = :id")
+    int updateUpdatedAt(@Param("id") Long id, @Param("updatedAt") OffsetDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Link l SET l.checkedAt = :checkedAt WHERE l.id = :id")
+    int updateCheckedAt(@Param("id") Long id, @Param("checkedAt") OffsetDateTime checkedAt);
+
+    @Query("SELECT l FROM Link l JOIN l.chats c WHERE c.id = :chatId AND l.id > :afterId ORDER BY l.id")
+    List<Link> findPageByChatId(@Param("chatId") Long chatId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT l FROM Link l JOIN l.chats c WHERE c.id = :chatId AND l.id > :afterId "
+            + "AND EXISTS (SELECT 1 FROM LinkTag lt "
+            + "WHERE lt.link = l AND lt.chatId = :chatId AND lt.tag.name IN :tags) "
+            + "ORDER BY l.id")
+    List<Link> findPageByChatIdAndTags(
+            @Param("chatId") Long chatId,
+            @Param("tags") Set<String> tags,
+            @Param("afterId") Long afterId,
+            Limit limit);
 }
@@ -1,11 +1,27 @@
 package backend.academy.scrapper.domain.jpa.repository;
 
 import backend.academy.scrapper.domain.jpa.entity.Tag;
+import backend.academy.scrapper.domain.jpa.projection.LinkTagName;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByName(String name);
+
+    List<Tag> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT DISTINCT lt.tag.name FROM LinkTag lt WHERE lt.chatId = :chatId")
+    Set<String> findNamesByChatId(@Param("chatId") Long chatId);
+
+    @Query("SELECT new backend.academy.scrapper.domain.jpa.projection.LinkTagName(lt.link.id, lt.tag.name) "
+            + "FROM LinkTag lt WHERE lt.chatId = :chatId AND lt.link.id IN :linkIds")
+    List<LinkTagName> findNamesByChatIdAndLinkIds(
+            @Param("chatId") Long chatId, @Param("linkIds") Collection<Long> linkIds);
 }
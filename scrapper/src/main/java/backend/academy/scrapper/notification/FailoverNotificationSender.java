@@ -2,43 +2,88 @@ package backend.academy.scrapper.notification;
 
 import backend.academy.dto.request.LinkUpdateRequest;
 import backend.academy.scrapper.config.ScrapperConfig;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
+/**
+ * Выбирает транспорт уведомлений по состоянию circuit breaker {@code notificationTransport}.
+ *
+ * <p>Пока breaker закрыт, сообщения идут через предпочтительный транспорт, а его асинхронные подтверждения и ошибки
+ * учитываются breaker'ом. Когда breaker открыт, весь поток сразу уходит на резервный транспорт без ожидания отказа;
+ * после успешной пробной отправки в полуоткрытом состоянии трафик возвращается на предпочтительный транспорт.
+ */
 @Slf4j
 @Service
-@Primary
-@RequiredArgsConstructor
 public class FailoverNotificationSender implements NotificationSender {
 
+    static final String CIRCUIT_BREAKER = "notificationTransport";
+
     private final KafkaNotificationSender kafkaSender;
     private final HttpNotificationSender httpSender;
     private final ScrapperConfig config;
+    private final CircuitBreaker circuitBreaker;
+
+    public FailoverNotificationSender(
+            KafkaNotificationSender kafkaSender,
+            HttpNotificationSender httpSender,
+            ScrapperConfig config,
+            CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.kafkaSender = kafkaSender;
+        this.httpSender = httpSender;
+        this.config = config;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.circuitBreaker
+                .getEventPublisher()
+                .onStateTransition(event -> log.warn(
+                        "Notification transport circuit breaker: {}",
+                        event.getStateTransition()));
+    }
 
     @Override
-    public void sendNotification(LinkUpdateRequest request) {
+    public CompletableFuture<Void> sendNotification(LinkUpdateRequest request) {
         String preferred = config.app().messageTransport();
+        boolean kafkaPreferred = "KAFKA".equalsIgnoreCase(preferred);
+        NotificationSender primary = kafkaPreferred ? kafkaSender : httpSender;
+        NotificationSender fallback = kafkaPreferred ? httpSender : kafkaSender;
 
-        try {
-            if ("KAFKA".equalsIgnoreCase(preferred)) {
-                kafkaSender.sendNotification(request);
-            } else {
-                httpSender.sendNotification(request);
-            }
-        } catch (Exception ex) {
-            log.error("Primary notification transport {} failed. Switching to fallback.", preferred, ex);
-
-            try {
-                if ("KAFKA".equalsIgnoreCase(preferred)) {
-                    httpSender.sendNotification(request); // fallback
-                } else {
-                    kafkaSender.sendNotification(request); // fallback
-                }
-            } catch (Exception fallbackEx) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            log.debug("Primary notification transport {} is unavailable, using fallback", preferred);
+            return sendFallback(fallback, request);
+        }
+
+        long start = System.nanoTime();
+        return send(primary, request)
+                .whenComplete((result, ex) -> {
+                    long duration = System.nanoTime() - start;
+                    if (ex == null) {
+                        circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                    } else {
+                        circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, ex);
+                    }
+                })
+                .exceptionallyCompose(ex -> {
+                    log.error("Primary notification transport {} failed. Switching to fallback.", preferred, ex);
+                    return sendFallback(fallback, request);
+                });
+    }
+
+    private CompletableFuture<Void> sendFallback(NotificationSender fallback, LinkUpdateRequest request) {
+        return send(fallback, request).whenComplete((result, fallbackEx) -> {
+            if (fallbackEx != null) {
                 log.error("Fallback transport also failed", fallbackEx);
             }
+        });
+    }
+
+    private CompletableFuture<Void> send(NotificationSender sender, LinkUpdateRequest request) {
+        try {
+            return sender.sendNotification(request);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
         }
     }
 }
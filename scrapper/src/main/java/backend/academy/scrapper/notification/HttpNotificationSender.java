@@ -1,49 +1,105 @@
 package backend.academy.scrapper.notification;
 
 import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.scrapper.config.ScrapperConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+/**
+ * Отправляет уведомления в бот по HTTP пачками.
+ *
+ * <p>Уведомления копятся до {@code batch-size} штук или до истечения {@code batch-delay} и уходят одним запросом на
+ * {@code /links/batch}. Future каждого уведомления завершается после ответа бота на всю пачку.
+ */
 @Slf4j
 @Component
 public class HttpNotificationSender implements NotificationSender {
 
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+    private static final String BOT_API_KEY_HEADER = "X-Api-Key";
+
     private final WebClient webClient;
+    private final Sinks.Many<PendingNotification> pending =
+            Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable pipeline;
 
-    public HttpNotificationSender(WebClient.Builder webClientBuilder) {
+    public HttpNotificationSender(WebClient.Builder webClientBuilder, ScrapperConfig config) {
+        ScrapperConfig.HttpNotificationProperties properties = config.httpNotification();
         this.webClient = webClientBuilder
-                .baseUrl("http://localhost:8080")
-                .clientConnector(new ReactorClientHttpConnector(createHttpClient()))
+                .baseUrl(config.app().botUrl())
+                .defaultHeader(BOT_API_KEY_HEADER, properties.botApiKey())
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient(properties)))
                 .filter(logRequest())
                 .filter(logResponse())
                 .build();
+        this.pipeline = pending.asFlux()
+                .bufferTimeout(properties.batchSize(), properties.batchDelay())
+                .flatMap(this::sendBatch, properties.concurrency())
+                .subscribe();
     }
 
     @Override
-    public void sendNotification(LinkUpdateRequest request) {
-        webClient
+    public CompletableFuture<Void> sendNotification(LinkUpdateRequest request) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        try {
+            pending.emitNext(
+                    new PendingNotification(request, ack), Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT));
+        } catch (Sinks.EmissionException e) {
+            ack.completeExceptionally(e);
+        }
+        return ack;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pending.tryEmitComplete();
+        pipeline.dispose();
+    }
+
+    private Mono<Void> sendBatch(List<PendingNotification> batch) {
+        List<LinkUpdateRequest> requests =
+                batch.stream().map(PendingNotification::request).toList();
+        return webClient
                 .post()
-                .uri("/updates")
+                .uri("/links/batch")
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
+                .bodyValue(requests)
                 .retrieve()
                 .toBodilessEntity()
-                .doOnSuccess(response -> log.info("Notification sent via HTTP: {}", request))
-                .doOnError(error -> log.error("Failed to send notification via HTTP", error))
-                .subscribe();
+                .doOnSuccess(response -> {
+                    log.info("Notification batch of {} sent via HTTP", batch.size());
+                    batch.forEach(notification -> notification.ack().complete(null));
+                })
+                .doOnError(error -> {
+                    log.error("Failed to send notification batch of {} via HTTP", batch.size(), error);
+                    batch.forEach(notification -> notification.ack().completeExceptionally(error));
+                })
+                .onErrorResume(error -> Mono.empty())
+                .then();
     }
 
-    private HttpClient createHttpClient() {
-        return HttpClient.create()
+    private HttpClient createHttpClient(ScrapperConfig.HttpNotificationProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("bot-notifications")
+                .maxConnections(properties.maxConnections())
+                .maxIdleTime(Duration.ofSeconds(60))
+                .build();
+        return HttpClient.create(connectionProvider)
+                .keepAlive(true)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
                 .doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(5)))
                 .responseTimeout(Duration.ofSeconds(5));
@@ -62,4 +118,6 @@ public class HttpNotificationSender implements NotificationSender {
             return Mono.just(clientResponse);
         });
     }
+
+    private record PendingNotification(LinkUpdateRequest request, CompletableFuture<Void> ack) {}
 }
@@ -3,6 +3,7 @@ package backend.academy.scrapper.notification;
 import backend.academy.dto.request.LinkUpdateRequest;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -20,14 +21,16 @@ public class KafkaNotificationSender implements NotificationSender {
     private final String dlqTopic = "link-updates-dlq";
 
     @Override
-    public void sendNotification(LinkUpdateRequest request) {
+    public CompletableFuture<Void> sendNotification(LinkUpdateRequest request) {
         try {
             String message = objectMapper.writeValueAsString(request);
-            kafkaTemplate.send(topicName, message);
-            log.info("Notification sent via Kafka: {}", message);
+            return kafkaTemplate
+                    .send(topicName, String.valueOf(request.id()), message)
+                    .thenAccept(result -> log.info("Notification sent via Kafka: {}", message));
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize message, sending to DLQ", e);
             kafkaTemplate.send(dlqTopic, "Malformed message: " + e.getMessage());
+            return CompletableFuture.completedFuture(null);
         }
     }
 }
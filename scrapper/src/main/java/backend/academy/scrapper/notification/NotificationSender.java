@@ -1,7 +1,15 @@
 package backend.academy.scrapper.notification;
 
 import backend.academy.dto.request.LinkUpdateRequest;
+import java.util.concurrent.CompletableFuture;
 
 public interface NotificationSender {
-    void sendNotification(LinkUpdateRequest request);
+
+    /**
+     * Отправляет уведомление.
+     *
+     * @param request Обновление ссылки.
+     * @return Future, завершающийся после подтверждения доставки транспортом.
+     */
+    CompletableFuture<Void> sendNotification(LinkUpdateRequest request);
 }
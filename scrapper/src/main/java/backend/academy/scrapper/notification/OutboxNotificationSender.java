@@ -0,0 +1,39 @@
+package backend.academy.scrapper.notification;
+
+import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.scrapper.domain.jdbc.dao.OutboxDao;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Записывает уведомление в таблицу outbox в текущей транзакции. Доставку выполняет {@link OutboxRelay}, поэтому
+ * уведомление и сдвиг курсора ссылки фиксируются атомарно.
+ */
+@Slf4j
+@Service
+@Primary
+@RequiredArgsConstructor
+public class OutboxNotificationSender implements NotificationSender {
+
+    private final OutboxDao outboxDao;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public CompletableFuture<Void> sendNotification(LinkUpdateRequest request) {
+        try {
+            outboxDao.save(request.id(), objectMapper.writeValueAsString(request));
+            log.debug("Notification stored in outbox for link {}", request.id());
+            return CompletableFuture.completedFuture(null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize notification for link " + request.id(), e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package backend.academy.scrapper.notification;
+
+import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.scrapper.config.ScrapperConfig;
+import backend.academy.scrapper.domain.jdbc.dao.OutboxDao;
+import backend.academy.scrapper.domain.jdbc.dto.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Доставляет уведомления из outbox пачками через {@link FailoverNotificationSender}.
+ *
+ * <p>Пачка захватывается на время аренды, поэтому несколько узлов могут работать параллельно, не отправляя одни и те же
+ * строки. Строка удаляется только после подтверждения транспортом; неподтвержденные строки будут выданы повторно после
+ * истечения аренды (доставка at-least-once). После {@code app.outbox.max-attempts} неудачных попыток, а также сразу для
+ * неразбираемых сообщений строка переносится в таблицу {@code notification_outbox_dead_letter}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxDao outboxDao;
+    private final FailoverNotificationSender transport;
+    private final ObjectMapper objectMapper;
+    private final ScrapperConfig.OutboxProperties properties;
+
+    public OutboxRelay(
+            OutboxDao outboxDao,
+            FailoverNotificationSender transport,
+            ObjectMapper objectMapper,
+            ScrapperConfig config) {
+        this.outboxDao = outboxDao;
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.properties = config.outbox();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval}")
+    public void relay() {
+        int dead = outboxDao.deadLetterExhausted(properties.maxAttempts());
+        if (dead > 0) {
+            log.warn("Moved {} outbox messages to dead letters after {} attempts", dead, properties.maxAttempts());
+        }
+
+        List<OutboxMessage> batch;
+        do {
+            batch = outboxDao.claimBatch(properties.batchSize(), properties.lease(), properties.maxAttempts());
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == properties.batchSize());
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        Map<Long, CompletableFuture<Void>> pending = new LinkedHashMap<>();
+        List<Long> acknowledged = new ArrayList<>();
+        List<Long> malformed = new ArrayList<>();
+
+        batch.stream().sorted(Comparator.comparing(OutboxMessage::id)).forEach(message -> {
+            try {
+                LinkUpdateRequest request = objectMapper.readValue(message.payload(), LinkUpdateRequest.class);
+                pending.put(message.id(), transport.sendNotification(request));
+            } catch (JsonProcessingException e) {
+                log.error("Moving malformed outbox message {} to dead letters", message.id(), e);
+                malformed.add(message.id());
+            }
+        });
+
+        try {
+            CompletableFuture.allOf(pending.values().toArray(CompletableFuture[]::new))
+                    .get(properties.lease().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Some outbox messages were not acknowledged and will be retried after lease expiry", e);
+        }
+
+        pending.forEach((id, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                acknowledged.add(id);
+            }
+        });
+        outboxDao.deleteAll(acknowledged);
+        outboxDao.deadLetterAll(malformed);
+        log.info("Outbox relay delivered {} of {} notifications", acknowledged.size(), batch.size());
+    }
+}
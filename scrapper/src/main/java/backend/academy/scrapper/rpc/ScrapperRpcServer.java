@@ -0,0 +1,133 @@
+package backend.academy.scrapper.rpc;
+
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.dto.rpc.RpcCodec;
+import backend.academy.dto.rpc.RpcFrame;
+import backend.academy.dto.rpc.RpcRequest;
+import backend.academy.dto.rpc.RpcResponse;
+import backend.academy.scrapper.config.ScrapperConfig;
+import backend.academy.scrapper.service.link.LinkService;
+import backend.academy.scrapper.service.link.VersionedLink;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.OptionalInt;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.tcp.TcpServer;
+
+/**
+ * Бинарный RPC-канал скраппера для бота, обслуживаемый рядом с REST API.
+ *
+ * <p>Вызовы одного соединения мультиплексируются: кадры обрабатываются параллельно (до {@code app.rpc.concurrency}), а
+ * ответы отправляются по мере готовности с идентификатором вызова из запроса. Ошибки обработки возвращаются клиенту
+ * ответом {@link RpcResponse.Failure}, соединение при этом не закрывается. Так же обрабатываются некорректные кадры,
+ * если из них удается прочитать идентификатор вызова; иначе кадр пропускается.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rpc.enabled", havingValue = "true")
+public class ScrapperRpcServer {
+
+    private final LinkService linkService;
+    private final ScrapperConfig.RpcProperties properties;
+
+    private DisposableServer server;
+
+    public ScrapperRpcServer(LinkService linkService, ScrapperConfig config) {
+        this.linkService = linkService;
+        this.properties = config.rpc();
+    }
+
+    @PostConstruct
+    public void start() {
+        server = TcpServer.create()
+                .port(properties.port())
+                .doOnConnection(connection -> connection
+                        .addHandlerLast(new LengthFieldBasedFrameDecoder(
+                                RpcCodec.MAX_FRAME_SIZE,
+                                0,
+                                RpcCodec.LENGTH_FIELD_SIZE,
+                                0,
+                                RpcCodec.LENGTH_FIELD_SIZE))
+                        .addHandlerLast(new LengthFieldPrepender(RpcCodec.LENGTH_FIELD_SIZE)))
+                .handle((inbound, outbound) -> outbound.sendByteArray(inbound.receive()
+                        .asByteArray()
+                        .flatMap(this::dispatch, properties.concurrency())))
+                .bindNow();
+        log.info("Scrapper RPC channel listening on port {}", server.port());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    /** Фактический порт канала; отличается от настроенного, если в настройках указан {@code 0}. */
+    public int port() {
+        return server.port();
+    }
+
+    private Mono<byte[]> dispatch(byte[] bytes) {
+        return Mono.fromCallable(() -> RpcCodec.decodeRequest(bytes))
+                .flatMap(this::call)
+                .onErrorResume(error -> rejectMalformed(bytes, error));
+    }
+
+    private Mono<byte[]> call(RpcFrame<RpcRequest> frame) {
+        return Mono.fromCallable(() -> handle(frame.message()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(error -> {
+                    log.warn("RPC call {} failed", frame.message(), error);
+                    return Mono.just(new RpcResponse.Failure(error.getClass().getSimpleName(), error.getMessage()));
+                })
+                .map(response -> RpcCodec.encodeResponse(frame.streamId(), response));
+    }
+
+    private Mono<byte[]> rejectMalformed(byte[] bytes, Throwable error) {
+        OptionalInt streamId = RpcCodec.readStreamId(bytes);
+        if (streamId.isEmpty()) {
+            log.warn("Dropping RPC frame of {} bytes with unreadable header", bytes.length, error);
+            return Mono.empty();
+        }
+        log.warn("Rejecting malformed RPC frame for call {}", streamId.getAsInt(), error);
+        return Mono.just(RpcCodec.encodeResponse(
+                streamId.getAsInt(), new RpcResponse.Failure("MalformedFrame", error.getMessage())));
+    }
+
+    private RpcResponse handle(RpcRequest request) {
+        Long chatId = request.chatId();
+        return switch (request) {
+            case RpcRequest.RegisterChat r -> {
+                linkService.registerChat(chatId);
+                yield new RpcResponse.Done(RpcResponse.NO_VERSION);
+            }
+            case RpcRequest.DeleteChat r -> {
+                linkService.deleteChat(chatId);
+                yield new RpcResponse.Done(RpcResponse.NO_VERSION);
+            }
+            case RpcRequest.AddLink r -> {
+                VersionedLink saved =
+                        linkService.addLink(chatId, new LinkResponse(null, r.link(), r.tags(), r.filters()));
+                yield new RpcResponse.Link(saved.linksVersion(), saved.link());
+            }
+            case RpcRequest.RemoveLink r -> new RpcResponse.Done(linkService.removeLink(chatId, r.link()));
+            case RpcRequest.GetLinks r -> {
+                // версия читается до списка, как в REST API: устаревшая версия только приведет к лишнему сбросу кэша
+                long version = linkService.getLinksVersion(chatId);
+                yield new RpcResponse.Links(version, List.copyOf(linkService.getLinks(chatId)));
+            }
+            case RpcRequest.GetTags r -> new RpcResponse.Tags(linkService.getAllTags(chatId));
+            case RpcRequest.GetLinksByTags r -> new RpcResponse.Links(
+                    RpcResponse.NO_VERSION, List.copyOf(linkService.getLinksByTags(chatId, r.tags())));
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package backend.academy.scrapper.service.link;
+
+import backend.academy.dto.request.LinkImportRecord;
+import backend.academy.dto.response.LinkImportResponse;
+import backend.academy.scrapper.config.ScrapperConfig;
+import backend.academy.scrapper.domain.jdbc.dao.LinkBulkDao;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Массовый импорт и экспорт отслеживаемых ссылок в формате NDJSON.
+ *
+ * <p>Импорт читает поток построчно и сохраняет его пачками по {@code app.bulk.import-chunk-size} строк, каждую - в
+ * своей транзакции. При ошибке уже сохраненные пачки остаются в базе; повторный импорт того же файла безопасен, так как
+ * существующие ссылки, теги и связи пропускаются.
+ */
+@Slf4j
+@Service
+public class LinkBulkService {
+
+    private static final Set<String> LINK_SCHEMES = Set.of("http", "https");
+    // теги бот принимает через запятую, фильтры - через пробел в виде "ключ:значение"
+    private static final Pattern TAG = Pattern.compile("[^\\s,]+");
+    private static final Pattern FILTER = Pattern.compile("[^\\s:|,]+:[^\\s:|,]+");
+
+    private final LinkBulkDao linkBulkDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ScrapperConfig.BulkProperties properties;
+
+    public LinkBulkService(
+            LinkBulkDao linkBulkDao,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            ScrapperConfig config) {
+        this.linkBulkDao = linkBulkDao;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = config.bulk();
+    }
+
+    /**
+     * Импортирует ссылки из потока NDJSON, по одной {@link LinkImportRecord} на строку.
+     *
+     * @param ndjson Тело запроса импорта.
+     * @return LinkImportResponse Количество обработанных строк и транзакций.
+     * @throws IllegalArgumentException Если строка не разбирается, в ней нет чата или ссылки, ссылка не является
+     *     абсолютным http(s)-адресом или теги и фильтры не в формате бота.
+     */
+    public LinkImportResponse importLinks(InputStream ndjson) throws IOException {
+        int chunkSize = properties.importChunkSize();
+        List<LinkImportRecord> chunk = new ArrayList<>(chunkSize);
+        long imported = 0;
+        int chunks = 0;
+        long lineNumber = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(line, lineNumber));
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk);
+                imported += chunk.size();
+                chunks++;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk);
+            imported += chunk.size();
+            chunks++;
+        }
+
+        log.info("Imported {} links in {} chunks", imported, chunks);
+        return new LinkImportResponse(imported, chunks);
+    }
+
+    /**
+     * Записывает отслеживаемые ссылки в поток NDJSON в формате импорта, упорядоченно по чатам.
+     *
+     * @param chatId Чат для выгрузки или {@code null} для всех чатов.
+     * @param out Поток ответа.
+     */
+    public void exportLinks(Long chatId, OutputStream out) throws IOException {
+        long afterChatId = Long.MIN_VALUE;
+        long afterLinkId = Long.MIN_VALUE;
+        List<LinkBulkDao.ExportedLink> page;
+        do {
+            page = linkBulkDao.findExportPage(chatId, afterChatId, afterLinkId, properties.exportPageSize());
+            for (LinkBulkDao.ExportedLink link : page) {
+                out.write(objectMapper.writeValueAsBytes(link.record()));
+                out.write('\n');
+            }
+            out.flush();
+            if (!page.isEmpty()) {
+                afterChatId = page.getLast().record().chatId();
+                afterLinkId = page.getLast().linkId();
+            }
+        } while (page.size() == properties.exportPageSize());
+    }
+
+    private LinkImportRecord parse(String line, long lineNumber) {
+        LinkImportRecord record;
+        try {
+            record = objectMapper.readValue(line, LinkImportRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed import line " + lineNumber + ": " + e.getOriginalMessage());
+        }
+        if (record.chatId() == null || record.link() == null) {
+            throw new IllegalArgumentException("Import line " + lineNumber + " must contain chatId and link");
+        }
+        URI link = record.link();
+        if (link.getScheme() == null
+                || !LINK_SCHEMES.contains(link.getScheme().toLowerCase())
+                || link.getHost() == null) {
+            throw new IllegalArgumentException("Import line " + lineNumber + " has invalid link: " + link);
+        }
+        requireAll(record.tags(), TAG, "tag", lineNumber);
+        requireAll(record.filters(), FILTER, "filter", lineNumber);
+        return record;
+    }
+
+    private static void requireAll(Set<String> values, Pattern format, String kind, long lineNumber) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values) {
+            if (value == null || !format.matcher(value).matches()) {
+                throw new IllegalArgumentException("Import line " + lineNumber + " has invalid " + kind + ": " + value);
+            }
+        }
+    }
+
+    private void saveChunk(List<LinkImportRecord> chunk) {
+        transactionTemplate.executeWithoutResult(status -> linkBulkDao.upsert(chunk));
+    }
+}
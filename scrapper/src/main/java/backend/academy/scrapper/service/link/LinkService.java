@@ -9,12 +9,33 @@ public interface LinkService {
 
     void registerChat(Long chatId); // Add this method if needed
 
-    void addLink(Long chatId, LinkResponse link);
-
-    void removeLink(Long chatId, URI url);
+    /**
+     * Добавляет ссылку в отслеживаемые чатом и увеличивает версию списка ссылок чата.
+     *
+     * @return Сохраненная ссылка с идентификатором и версия списка, полученная в той же транзакции.
+     */
+    VersionedLink addLink(Long chatId, LinkResponse link);
+
+    /**
+     * Удаляет ссылку из отслеживаемых чатом и увеличивает версию списка ссылок чата.
+     *
+     * @return Версия списка ссылок чата сразу после удаления.
+     */
+    long removeLink(Long chatId, URI url);
 
     Set<LinkResponse> getLinks(Long chatId);
 
+    /**
+     * Возвращает страницу ссылок чата в порядке возрастания идентификатора (keyset-пагинация).
+     *
+     * @param afterId Идентификатор последней ссылки предыдущей страницы; {@code null} для первой страницы.
+     * @param limit Максимальный размер страницы.
+     */
+    List<LinkResponse> getLinksPage(Long chatId, Long afterId, int limit);
+
+    /** Версия списка ссылок чата; увеличивается при каждом добавлении и удалении ссылки. */
+    long getLinksVersion(Long chatId);
+
     String getLastUpdated(Long linkId);
 
     void updateLastUpdated(Long linkId, String lastUpdated);
@@ -25,11 +46,15 @@ public interface LinkService {
 
     void updateLastActivityDate(Long linkId, String lastActivityDate);
 
-    Set<LinkResponse> getLinksBatch(int page, int batchSize);
+    /** Следующая пачка ссылок всех чатов с идентификаторами больше {@code afterId}, по возрастанию идентификатора. */
+    Set<LinkResponse> getLinksBatch(long afterId, int batchSize);
 
     Set<String> getAllTags(Long chatId);
 
     Set<LinkResponse> getLinksByTags(Long chatId, Set<String> tags);
 
+    /** Страница ссылок чата, помеченных хотя бы одним из тегов; порядок и курсор - как в {@link #getLinksPage}. */
+    List<LinkResponse> getLinksByTagsPage(Long chatId, Set<String> tags, Long afterId, int limit);
+
     void deleteChat(Long chatId);
 }
@@ -5,7 +5,9 @@ import backend.academy.scrapper.domain.jpa.entity.Chat;
 import backend.academy.scrapper.domain.jpa.entity.Link;
 import backend.academy.scrapper.domain.jpa.entity.LinkTag;
 import backend.academy.scrapper.domain.jpa.entity.Tag;
+import backend.academy.scrapper.domain.jpa.projection.LinkTagName;
 import backend.academy.scrapper.domain.jpa.repository.ChatRepository;
+import backend.academy.scrapper.domain.jpa.repository.LinkBatchReader;
 import backend.academy.scrapper.domain.jpa.repository.LinkRepository;
 import backend.academy.scrapper.domain.jpa.repository.TagRepository;
 import java.net.URI;
@@ -14,12 +16,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
@@ -28,6 +32,7 @@ public class ORMLinkService implements LinkService {
     private final LinkRepository linkRepository;
     private final TagRepository tagRepository;
     private final ChatRepository chatRepository;
+    private final LinkBatchReader linkBatchReader;
     private static final Logger logger = LoggerFactory.getLogger(ORMLinkService.class);
 
     @Override
@@ -42,11 +47,13 @@ public class ORMLinkService implements LinkService {
 
     @Override
     @Transactional
-    public void addLink(Long chatId, LinkResponse link) {
+    public VersionedLink addLink(Long chatId, LinkResponse link) {
         Link existingLink = linkRepository.findByUrl(link.url()).orElse(null);
+        Link savedLink;
 
         if (existingLink != null) {
             addChatToLink(chatId, existingLink);
+            savedLink = existingLink;
         } else {
             Link newLink = new Link();
             newLink.url(link.url());
@@ -54,15 +61,18 @@ public class ORMLinkService implements LinkService {
             newLink.createdAt(OffsetDateTime.now());
             newLink.checkedAt(OffsetDateTime.now());
             newLink.updatedAt(OffsetDateTime.now());
-            linkRepository.save(newLink);
-            addChatToLink(chatId, newLink);
+            savedLink = linkRepository.save(newLink);
+            addChatToLink(chatId, savedLink);
         }
-        addTagsToLink(chatId, link.url(), link.tags());
+        addTagsToLink(chatId, savedLink, link.tags());
+
+        long version = chatRepository.incrementLinksVersion(chatId);
+        return new VersionedLink(new LinkResponse(savedLink.id(), link.url(), link.tags(), link.filters()), version);
     }
 
     @Override
     @Transactional
-    public void removeLink(Long chatId, URI url) {
+    public long removeLink(Long chatId, URI url) {
         Link link = linkRepository.findByUrl(url).orElseThrow(() -> new RuntimeException("Link not found"));
 
         removeChatFromLink(chatId, link);
@@ -73,6 +83,8 @@ public class ORMLinkService implements LinkService {
         } else {
             linkRepository.save(link);
         }
+
+        return chatRepository.incrementLinksVersion(chatId);
     }
 
     @Override
@@ -82,19 +94,37 @@ public class ORMLinkService implements LinkService {
         return convertToLinkResponseSet(links, chatId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LinkResponse> getLinksPage(Long chatId, Long afterId, int limit) {
+        List<Link> links = linkRepository.findPageByChatId(chatId, afterId != null ? afterId : 0L, Limit.of(limit));
+        Map<Long, Set<String>> tags = findTagNames(chatId, links);
+        return links.stream()
+                .map(link -> toLinkResponse(link, tags.getOrDefault(link.id(), Set.of())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLinksVersion(Long chatId) {
+        return chatRepository.findLinksVersion(chatId).orElse(0L);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public String getLastUpdated(Long linkId) {
-        Link link = linkRepository.findById(linkId).orElseThrow(() -> new RuntimeException("Link not found"));
-        return link.updatedAt().toString();
+        return linkRepository
+                .findUpdatedAt(linkId)
+                .orElseThrow(() -> new RuntimeException("Link not found"))
+                .toString();
     }
 
     @Override
     @Transactional
     public void updateLastUpdated(Long linkId, String lastUpdated) {
-        Link link = linkRepository.findById(linkId).orElseThrow(() -> new RuntimeException("Link not found"));
-        link.updatedAt(OffsetDateTime.parse(lastUpdated));
-        linkRepository.save(link);
+        if (linkRepository.updateUpdatedAt(linkId, OffsetDateTime.parse(lastUpdated)) == 0) {
+            throw new RuntimeException("Link not found");
+        }
     }
 
     @Override
@@ -107,36 +137,49 @@ public class ORMLinkService implements LinkService {
     @Override
     @Transactional(readOnly = true)
     public String getLastActivityDate(Long linkId) {
-        Link link = linkRepository.findById(linkId).orElseThrow(() -> new RuntimeException("Link not found"));
-        return link.checkedAt().toString();
+        return linkRepository
+                .findCheckedAt(linkId)
+                .orElseThrow(() -> new RuntimeException("Link not found"))
+                .toString();
     }
 
     @Override
     @Transactional
     public void updateLastActivityDate(Long linkId, String lastActivityDate) {
-        Link link = linkRepository.findById(linkId).orElseThrow(() -> new RuntimeException("Link not found"));
-        link.checkedAt(OffsetDateTime.parse(lastActivityDate));
-        linkRepository.save(link);
+        if (linkRepository.updateCheckedAt(linkId, OffsetDateTime.parse(lastActivityDate)) == 0) {
+            throw new RuntimeException("Link not found");
+        }
     }
 
-    private void addTagsToLink(Long chatId, URI url, Set<String> tags) {
-        Link link = linkRepository.findByUrl(url).orElseThrow(() -> new RuntimeException("Link not found"));
-
+    /**
+     * Привязывает теги чата к ссылке. Существующие теги читаются одним запросом, новые сохраняются вместе, а их
+     * вставки вместе с вставками связей уходят в базу пакетами при сбросе контекста.
+     */
+    private void addTagsToLink(Long chatId, Link link, Set<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        Map<String, Tag> tagsByName = tagRepository.findAllByNameIn(tags).stream()
+                .collect(Collectors.toMap(Tag::name, Function.identity()));
+        List<Tag> newTags = tags.stream()
+                .filter(tagName -> !tagsByName.containsKey(tagName))
+                .map(tagName -> {
+                    Tag newTag = new Tag();
+                    newTag.name(tagName);
+                    return newTag;
+                })
+                .toList();
+        tagRepository.saveAll(newTags).forEach(tag -> tagsByName.put(tag.name(), tag));
+
+        Set<String> linkedTags = link.linkTags().stream()
+                .filter(linkTag -> linkTag.chatId().equals(chatId))
+                .map(linkTag -> linkTag.tag().name())
+                .collect(Collectors.toSet());
         for (String tagName : tags) {
-            Tag tag = tagRepository.findByName(tagName).orElseGet(() -> {
-                Tag newTag = new Tag();
-                newTag.name(tagName);
-                return tagRepository.save(newTag);
-            });
-
-            boolean tagExists = link.linkTags().stream()
-                    .anyMatch(linkTag ->
-                            linkTag.tag().equals(tag) && linkTag.chatId().equals(chatId));
-
-            if (!tagExists) {
+            if (!linkedTags.contains(tagName)) {
                 LinkTag linkTag = new LinkTag();
                 linkTag.link(link);
-                linkTag.tag(tag);
+                linkTag.tag(tagsByName.get(tagName));
                 linkTag.chatId(chatId);
                 link.linkTags().add(linkTag);
             }
@@ -146,19 +189,21 @@ public class ORMLinkService implements LinkService {
     }
 
     private Set<LinkResponse> convertToLinkResponseSet(Set<Link> links, Long chatId) {
-        return links.stream()
-                .map(link -> new LinkResponse(
-                        link.id(),
-                        link.url(),
-                        link.linkTags().stream()
-                                .filter(linkTag ->
-                                        chatId == null || linkTag.chatId().equals(chatId))
-                                .map(linkTag -> linkTag.tag().name())
-                                .collect(Collectors.toSet()),
-                        link.filter() == null
-                                ? Set.of()
-                                : Arrays.stream(link.filter().split("\\|")).collect(Collectors.toSet())))
-                .collect(Collectors.toSet());
+        return links.stream().map(link -> toLinkResponse(link, chatId)).collect(Collectors.toSet());
+    }
+
+    private LinkResponse toLinkResponse(Link link, Long chatId) {
+        return toLinkResponse(link, tagNames(link, chatId));
+    }
+
+    private LinkResponse toLinkResponse(Link link, Set<String> tags) {
+        return new LinkResponse(
+                link.id(),
+                link.url(),
+                tags,
+                link.filter() == null
+                        ? Set.of()
+                        : Arrays.stream(link.filter().split("\\|")).collect(Collectors.toSet()));
     }
 
     private void addChatToLink(Long chatId, Link link) {
@@ -183,42 +228,62 @@ public class ORMLinkService implements LinkService {
         linkRepository.save(link);
     }
 
+    /** Читает пачку без транзакции и контекста персистентности: {@link LinkBatchReader} открывает свою сессию. */
     @Override
-    @Transactional(readOnly = true)
-    public Set<LinkResponse> getLinksBatch(int page, int batchSize) {
-        PageRequest pageRequest = PageRequest.of(page, batchSize);
-        List<Link> links = linkRepository.findAll(pageRequest).getContent();
-        return convertToLinkResponseSet(new HashSet<>(links), null);
+    public Set<LinkResponse> getLinksBatch(long afterId, int batchSize) {
+        return convertToLinkResponseSet(new HashSet<>(linkBatchReader.findBatchWithTags(afterId, batchSize)), null);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Set<String> getAllTags(Long chatId) {
-        return linkRepository.findAllByChatId(chatId).stream()
-                .flatMap(link -> link.linkTags().stream())
-                .filter(lt -> lt.chatId().equals(chatId))
-                .map(lt -> lt.tag().name())
-                .collect(Collectors.toSet());
+        return tagRepository.findNamesByChatId(chatId);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Set<LinkResponse> getLinksByTags(Long chatId, Set<String> tags) {
-        return linkRepository.findAllByChatId(chatId).stream()
-                .filter(link -> link.linkTags().stream()
-                        .anyMatch(lt -> lt.chatId().equals(chatId)
-                                && tags.contains(lt.tag().name())))
-                .map(link -> convertToLinkResponse(link, chatId))
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return linkRepository.findAllByChatIdAndTags(chatId, tags).stream()
+                .map(link -> convertToLinkResponse(link, tagNames(link, chatId)))
                 .collect(Collectors.toSet());
     }
 
-    private LinkResponse convertToLinkResponse(Link link, Long chatId) {
-        Set<String> tags = link.linkTags().stream()
+    @Override
+    @Transactional(readOnly = true)
+    public List<LinkResponse> getLinksByTagsPage(Long chatId, Set<String> tags, Long afterId, int limit) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Link> links = linkRepository.findPageByChatIdAndTags(
+                chatId, tags, afterId != null ? afterId : 0L, Limit.of(limit));
+        Map<Long, Set<String>> linkTags = findTagNames(chatId, links);
+        return links.stream()
+                .map(link -> convertToLinkResponse(link, linkTags.getOrDefault(link.id(), Set.of())))
+                .toList();
+    }
+
+    private LinkResponse convertToLinkResponse(Link link, Set<String> tags) {
+        return new LinkResponse(link.id(), link.url(), tags, Collections.singleton(link.filter()));
+    }
+
+    private Set<String> tagNames(Link link, Long chatId) {
+        return link.linkTags().stream()
                 .filter(linkTag -> chatId == null || linkTag.chatId().equals(chatId))
                 .map(linkTag -> linkTag.tag().name())
                 .collect(Collectors.toSet());
+    }
 
-        return new LinkResponse(link.id(), link.url(), tags, Collections.singleton(link.filter()));
+    /** Загружает теги чата для страницы ссылок одним запросом-проекцией вместо обхода коллекций каждой ссылки. */
+    private Map<Long, Set<String>> findTagNames(Long chatId, List<Link> links) {
+        if (links.isEmpty()) {
+            return Map.of();
+        }
+        return tagRepository.findNamesByChatIdAndLinkIds(chatId, links.stream().map(Link::id).toList()).stream()
+                .collect(Collectors.groupingBy(
+                        LinkTagName::linkId, Collectors.mapping(LinkTagName::name, Collectors.toSet())));
     }
 
     @Override
@@ -8,14 +8,14 @@ import backend.academy.scrapper.domain.jdbc.dao.LinkTagDao;
 import backend.academy.scrapper.domain.jdbc.dao.TagDao;
 import backend.academy.scrapper.domain.jdbc.dto.Chat;
 import backend.academy.scrapper.domain.jdbc.dto.Link;
-import backend.academy.scrapper.domain.jdbc.dto.LinkTag;
-import backend.academy.scrapper.domain.jdbc.dto.Tag;
+import backend.academy.scrapper.domain.jdbc.dto.Subscription;
 import java.net.URI;
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -38,63 +38,43 @@ public class SQLLinkService implements LinkService {
 
     @Override
     @Transactional
-    public void addLink(Long chatId, LinkResponse link) {
-        String filters = String.join("|", link.filters());
-        Link linkDto = new Link(
-                null,
-                link.url().toString(),
-                filters,
-                OffsetDateTime.now(ZoneId.systemDefault()),
-                OffsetDateTime.now(ZoneId.systemDefault()),
-                OffsetDateTime.now(ZoneId.systemDefault()));
-        linkDao.save(linkDto);
-        Link savedLink = linkDao.findByUrl(link.url().toString())
+    public VersionedLink addLink(Long chatId, LinkResponse link) {
+        Subscription subscription = chatLinkDao
+                .subscribe(
+                        chatId,
+                        link.url().toString(),
+                        String.join("|", link.filters()),
+                        link.tags().toArray(String[]::new))
                 .orElseThrow(() -> new IllegalStateException("Link should have been saved but not found"));
-
-        chatLinkDao.save(chatId, savedLink.id());
-
-        for (String tagName : link.tags()) {
-            Tag tagDto = new Tag(null, tagName);
-            tagDao.save(tagDto);
-            Tag savedTag = tagDao.findByName(tagName);
-
-            LinkTag linkTagDto = new LinkTag(null, savedLink.id(), savedTag.id(), chatId);
-            linkTagDao.save(linkTagDto);
-        }
+        return new VersionedLink(
+                new LinkResponse(subscription.linkId(), link.url(), link.tags(), link.filters()),
+                subscription.linksVersion());
     }
 
     @Override
     @Transactional
-    public void removeLink(Long chatId, URI url) {
-        Link link = linkDao.findByUrl(url.toString())
+    public long removeLink(Long chatId, URI url) {
+        return chatLinkDao
+                .unsubscribe(chatId, url.toString())
                 .orElseThrow(() -> new IllegalArgumentException("Link not found for URL: " + url));
-
-        chatLinkDao.delete(chatId, link.id());
-
-        List<LinkTag> linkTags = linkTagDao.findByLinkId(link.id());
-        for (LinkTag linkTag : linkTags) {
-            if (linkTag.chatId().equals(chatId)) {
-                linkTagDao.delete(linkTag);
-            }
-        }
-
-        List<Long> remainingChatIds = chatLinkDao.findChatIdsByLinkId(link.id());
-        if (remainingChatIds.isEmpty()) {
-            linkDao.delete(link);
-        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public Set<LinkResponse> getLinks(Long chatId) {
-        List<Link> links = linkDao.findByChatId(chatId);
+        return new HashSet<>(toResponses(chatId, linkDao.findByChatId(chatId)));
+    }
 
-        return links.stream()
-                .map(link -> {
-                    Set<String> tags = linkTagDao.findTagsByLinkId(link.id());
-                    return new LinkResponse(link.id(), link.getUri(), tags, parseFilters(link.filter()));
-                })
-                .collect(Collectors.toSet());
+    @Override
+    @Transactional(readOnly = true)
+    public List<LinkResponse> getLinksPage(Long chatId, Long afterId, int limit) {
+        return toResponses(chatId, linkDao.findPageByChatId(chatId, afterId != null ? afterId : 0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLinksVersion(Long chatId) {
+        return chatDao.findLinksVersion(chatId);
     }
 
     @Override
@@ -141,9 +121,8 @@ public class SQLLinkService implements LinkService {
 
     @Override
     @Transactional(readOnly = true)
-    public Set<LinkResponse> getLinksBatch(int page, int batchSize) {
-        int offset = page * batchSize;
-        List<Link> links = linkDao.findBatch(offset, batchSize);
+    public Set<LinkResponse> getLinksBatch(long afterId, int batchSize) {
+        List<Link> links = linkDao.findBatch(afterId, batchSize);
 
         return links.stream()
                 .map(link -> {
@@ -166,12 +145,17 @@ public class SQLLinkService implements LinkService {
             return Collections.emptySet();
         }
 
-        return linkDao.findAllByChatIdAndTags(chatId, tags).stream()
-                .map(link -> {
-                    Set<String> linkTags = tagDao.findTagsByLinkAndChat(link.id(), chatId);
-                    return new LinkResponse(link.id(), link.getUri(), linkTags, parseFilters(link.filter()));
-                })
-                .collect(Collectors.toSet());
+        return new HashSet<>(toResponses(chatId, linkDao.findAllByChatIdAndTags(chatId, tags)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LinkResponse> getLinksByTagsPage(Long chatId, Set<String> tags, Long afterId, int limit) {
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return toResponses(chatId, linkDao.findPageByChatIdAndTags(chatId, tags, afterId != null ? afterId : 0, limit));
     }
 
     @Override
@@ -180,6 +164,16 @@ public class SQLLinkService implements LinkService {
         chatDao.delete(chatId);
     }
 
+    /** Собирает ответы по ссылкам чата, загружая теги всех ссылок одним запросом. */
+    private List<LinkResponse> toResponses(Long chatId, List<Link> links) {
+        Map<Long, Set<String>> tags =
+                tagDao.findTagsByChatAndLinkIds(chatId, links.stream().map(Link::id).toList());
+        return links.stream()
+                .map(link -> new LinkResponse(
+                        link.id(), link.getUri(), tags.getOrDefault(link.id(), Set.of()), parseFilters(link.filter())))
+                .toList();
+    }
+
     private Set<String> parseFilters(String filterStr) {
         if (filterStr == null || filterStr.isBlank()) return Collections.emptySet();
         return Arrays.stream(filterStr.split(","))
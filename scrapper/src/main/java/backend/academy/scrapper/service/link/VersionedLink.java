@@ -0,0 +1,11 @@
+package backend.academy.scrapper.service.link;
+
+import backend.academy.dto.response.LinkResponse;
+
+/**
+ * Добавленная ссылка вместе с версией списка ссылок чата, которую получило это изменение.
+ *
+ * @param link Сохраненная ссылка с идентификатором.
+ * @param linksVersion Версия списка ссылок чата сразу после добавления.
+ */
+public record VersionedLink(LinkResponse link, long linksVersion) {}
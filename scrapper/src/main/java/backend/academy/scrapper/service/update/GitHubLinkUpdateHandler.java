@@ -1,5 +1,6 @@
 package backend.academy.scrapper.service.update;
 
+import backend.academy.dto.request.LinkUpdateEvent;
 import backend.academy.dto.request.LinkUpdateRequest;
 import backend.academy.dto.response.LinkResponse;
 import backend.academy.scrapper.client.GitHubClient;
@@ -9,8 +10,10 @@ import backend.academy.scrapper.service.link.LinkService;
 import java.net.URI;
 import java.time.Instant;
 import java.util.Comparator;
+import java.util.List;
 import java.util.regex.Pattern;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class GitHubLinkUpdateHandler implements LinkUpdateHandler {
@@ -18,13 +21,18 @@ public class GitHubLinkUpdateHandler implements LinkUpdateHandler {
     private final GitHubClient gitHubClient;
     private final LinkService linkService;
     private final NotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
     private static final Pattern TRIM_SLASHES = Pattern.compile("^/+|/+$");
 
     public GitHubLinkUpdateHandler(
-            GitHubClient gitHubClient, LinkService linkService, NotificationSender notificationSender) {
+            GitHubClient gitHubClient,
+            LinkService linkService,
+            NotificationSender notificationSender,
+            TransactionTemplate transactionTemplate) {
         this.gitHubClient = gitHubClient;
         this.linkService = linkService;
         this.notificationSender = notificationSender;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -44,28 +52,34 @@ public class GitHubLinkUpdateHandler implements LinkUpdateHandler {
 
         gitHubClient.fetchGitHubItems("issues", owner, repo, lastProcessed).subscribe(items -> {
             if (!items.isEmpty()) {
-                for (GitHubItem item : items) {
-                    String author = item.user().login();
-                    if (shouldIgnoreByFilter(link, author)) {
-                        continue;
-                    }
-                    String message =
-                            item.isPullRequest() ? formatPRMessage(link, item) : formatIssueMessage(link, item);
-
-                    notificationSender.sendNotification(new LinkUpdateRequest(
-                            link.id(), link.url(), message, linkService.getChatIdsByLinkId(link.id())));
-                }
-
+                List<LinkUpdateEvent> events = items.stream()
+                        .filter(item -> !shouldIgnoreByFilter(link, item.user().login()))
+                        .map(this::toEvent)
+                        .toList();
                 Instant newest = items.stream()
                         .map(GitHubItem::createdAt)
                         .max(Comparator.naturalOrder())
                         .orElse(Instant.now());
 
-                linkService.updateLastUpdated(link.id(), newest.toString());
+                transactionTemplate.executeWithoutResult(status -> {
+                    send(link, events);
+                    linkService.updateLastUpdated(link.id(), newest.toString());
+                });
             }
         });
     }
 
+    private void send(LinkResponse link, List<LinkUpdateEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Long> chatIds = linkService.getChatIdsByLinkId(link.id());
+        if (!chatIds.isEmpty()) {
+            notificationSender.sendNotification(new LinkUpdateRequest(
+                    link.id(), link.url(), LinkUpdateSummary.render(link.url(), events), chatIds, events));
+        }
+    }
+
     private boolean shouldIgnoreByFilter(LinkResponse link, String author) {
         return link.filters().stream()
                 .filter(f -> f.startsWith("user:"))
@@ -73,24 +87,13 @@ public class GitHubLinkUpdateHandler implements LinkUpdateHandler {
                 .anyMatch(filtered -> filtered.equalsIgnoreCase(author));
     }
 
-    private String formatIssueMessage(LinkResponse link, GitHubItem issue) {
-        return String.format(
-                "\uD83D\uDCE2 Update for: %s%n\uD83D\uDD17 Link: %s%n\uD83D\uDCDD New Issue: %s%n\uD83D\uDC64 Author: %s%n⏰ Created: %s%n\uD83D\uDCC4 Description: %s",
-                link.url(),
-                issue.url(),
-                issue.title(),
-                issue.user().login(),
-                issue.createdAt(),
-                truncate(issue.body(), 200));
-    }
-
-    private String formatPRMessage(LinkResponse link, GitHubItem pr) {
-        return String.format(
-                "\uD83D\uDCE2 Update for: %s%n\uD83D\uDD17 Link: %s%n🔄 New PR: %s%n\uD83D\uDC64 Author: %s%n⏰ Created: %s%n\uD83D\uDCC4 Description: %s",
-                link.url(), pr.url(), pr.title(), pr.user().login(), pr.createdAt(), truncate(pr.body(), 200));
-    }
-
-    private String truncate(String text, int limit) {
-        return (text == null) ? "No description" : text.length() > limit ? text.substring(0, limit) + "..." : text;
+    private LinkUpdateEvent toEvent(GitHubItem item) {
+        return new LinkUpdateEvent(
+                item.isPullRequest() ? LinkUpdateSummary.PULL_REQUEST : LinkUpdateSummary.ISSUE,
+                item.url() != null ? URI.create(item.url()) : null,
+                item.title(),
+                item.user().login(),
+                item.createdAt(),
+                LinkUpdateSummary.truncate(item.body()));
     }
 }
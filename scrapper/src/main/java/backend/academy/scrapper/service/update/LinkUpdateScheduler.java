@@ -26,13 +26,13 @@ public class LinkUpdateScheduler {
 
     @Scheduled(fixedRate = 10000)
     public void checkForUpdates() {
-        int page = 0;
+        long lastId = 0;
         Set<LinkResponse> batch;
 
         do {
-            batch = linkService.getLinksBatch(page, batchSize);
+            batch = linkService.getLinksBatch(lastId, batchSize);
             linkProcessor.process(batch);
-            page++;
+            lastId = batch.stream().mapToLong(LinkResponse::id).max().orElse(lastId);
         } while (!batch.isEmpty());
     }
 }
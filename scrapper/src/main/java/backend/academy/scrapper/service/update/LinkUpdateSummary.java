@@ -0,0 +1,50 @@
+package backend.academy.scrapper.service.update;
+
+import backend.academy.dto.request.LinkUpdateEvent;
+import java.net.URI;
+import java.util.List;
+
+/** Формирует текст одного уведомления по всем событиям ссылки, найденным за опрос. */
+final class LinkUpdateSummary {
+
+    static final String ISSUE = "ISSUE";
+    static final String PULL_REQUEST = "PULL_REQUEST";
+    static final String ANSWER = "ANSWER";
+    static final String COMMENT = "COMMENT";
+
+    private static final int PREVIEW_LIMIT = 200;
+
+    private LinkUpdateSummary() {}
+
+    static String render(URI linkUrl, List<LinkUpdateEvent> events) {
+        StringBuilder summary = new StringBuilder("📢 Update for: ").append(linkUrl);
+        if (events.size() > 1) {
+            summary.append(" (").append(events.size()).append(" new events)");
+        }
+        for (LinkUpdateEvent event : events) {
+            summary.append(System.lineSeparator()).append(System.lineSeparator());
+            summary.append(headline(event)).append(System.lineSeparator());
+            summary.append("🔗 Link: ").append(event.url()).append(System.lineSeparator());
+            summary.append("👤 Author: ").append(event.author()).append(System.lineSeparator());
+            summary.append("⏰ Created: ").append(event.createdAt()).append(System.lineSeparator());
+            summary.append("📄 Content: ").append(event.preview());
+        }
+        return summary.toString();
+    }
+
+    static String truncate(String text) {
+        return (text == null)
+                ? "No description"
+                : text.length() > PREVIEW_LIMIT ? text.substring(0, PREVIEW_LIMIT) + "..." : text;
+    }
+
+    private static String headline(LinkUpdateEvent event) {
+        return switch (event.type()) {
+            case ISSUE -> "📝 New Issue: " + event.title();
+            case PULL_REQUEST -> "🔄 New PR: " + event.title();
+            case ANSWER -> "💡 New Answer";
+            case COMMENT -> "💬 New Comment";
+            default -> "New " + event.type();
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package backend.academy.scrapper.service.update;
 
+import backend.academy.dto.request.LinkUpdateEvent;
 import backend.academy.dto.request.LinkUpdateRequest;
 import backend.academy.dto.response.LinkResponse;
 import backend.academy.scrapper.client.StackOverflowClient;
@@ -12,6 +13,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.stream.Stream;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class StackOverflowLinkUpdateHandler implements LinkUpdateHandler {
@@ -19,12 +21,17 @@ public class StackOverflowLinkUpdateHandler implements LinkUpdateHandler {
     private final StackOverflowClient stackOverflowClient;
     private final LinkService linkService;
     private final NotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
 
     public StackOverflowLinkUpdateHandler(
-            StackOverflowClient stackOverflowClient, LinkService linkService, NotificationSender notificationSender) {
+            StackOverflowClient stackOverflowClient,
+            LinkService linkService,
+            NotificationSender notificationSender,
+            TransactionTemplate transactionTemplate) {
         this.stackOverflowClient = stackOverflowClient;
         this.linkService = linkService;
         this.notificationSender = notificationSender;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -45,32 +52,33 @@ public class StackOverflowLinkUpdateHandler implements LinkUpdateHandler {
                     List<Comment> comments = tuple.getT2();
 
                     if (!answers.isEmpty() || !comments.isEmpty()) {
-                        for (Answer answer : answers) {
-                            String author = answer.owner != null ? answer.owner.displayName : "Unknown";
-                            if (shouldIgnoreByFilter(link, author)) continue;
-                            send(link, formatAnswer(link, answer));
-                        }
-                        for (Comment comment : comments) {
-                            String author = comment.owner != null ? comment.owner.displayName : "Unknown";
-                            if (shouldIgnoreByFilter(link, author)) continue;
-                            send(link, formatComment(link, comment));
-                        }
-
+                        List<LinkUpdateEvent> events = Stream.concat(
+                                        answers.stream().map(this::toEvent),
+                                        comments.stream().map(comment -> toEvent(link, comment)))
+                                .filter(event -> !shouldIgnoreByFilter(link, event.author()))
+                                .toList();
                         Instant newest = Stream.concat(
                                         answers.stream().map(a -> Instant.ofEpochSecond(a.creationDate)),
                                         comments.stream().map(c -> Instant.ofEpochSecond(c.creationDate)))
                                 .max(Instant::compareTo)
                                 .orElse(Instant.now());
 
-                        linkService.updateLastActivityDate(link.id(), newest.toString());
+                        transactionTemplate.executeWithoutResult(status -> {
+                            send(link, events);
+                            linkService.updateLastActivityDate(link.id(), newest.toString());
+                        });
                     }
                 });
     }
 
-    private void send(LinkResponse link, String message) {
+    private void send(LinkResponse link, List<LinkUpdateEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
         List<Long> chatIds = linkService.getChatIdsByLinkId(link.id());
         if (!chatIds.isEmpty()) {
-            notificationSender.sendNotification(new LinkUpdateRequest(link.id(), link.url(), message, chatIds));
+            notificationSender.sendNotification(new LinkUpdateRequest(
+                    link.id(), link.url(), LinkUpdateSummary.render(link.url(), events), chatIds, events));
         }
     }
 
@@ -81,32 +89,24 @@ public class StackOverflowLinkUpdateHandler implements LinkUpdateHandler {
                 .anyMatch(filtered -> filtered.equalsIgnoreCase(author));
     }
 
-    private String formatAnswer(LinkResponse link, Answer answer) {
-        String author = answer.owner != null ? answer.owner.displayName : "Unknown";
-        return String.format(
-                "\uD83D\uDCE2 Update for: %s%n\uD83D\uDD17 Answer Link: https://stackoverflow.com/a/%d%n💡 New Answer%n\uD83D\uDC64 Author: %s%n⏰ Created: %s%n\uD83D\uDCC4 Content: %s",
-                link.url(),
-                answer.answerId,
-                author,
+    private LinkUpdateEvent toEvent(Answer answer) {
+        return new LinkUpdateEvent(
+                LinkUpdateSummary.ANSWER,
+                URI.create("https://stackoverflow.com/a/" + answer.answerId),
+                null,
+                answer.owner != null ? answer.owner.displayName : "Unknown",
                 Instant.ofEpochSecond(answer.creationDate),
-                truncate(answer.body, 200));
+                LinkUpdateSummary.truncate(answer.body));
     }
 
-    private String formatComment(LinkResponse link, Comment comment) {
-        String author = comment.owner != null ? comment.owner.displayName : "Unknown";
+    private LinkUpdateEvent toEvent(LinkResponse link, Comment comment) {
         String baseUrl = link.url().toString().split("#", 2)[0];
-        return String.format(
-                "\uD83D\uDCE2 Update for: %s%n\uD83D\uDD17 Comment Link: %s#comment%d_%d%n💬 New Comment%n\uD83D\uDC64 Author: %s%n⏰ Created: %s%n\uD83D\uDCC4 Content: %s",
-                link.url(),
-                baseUrl,
-                comment.commentId,
-                comment.commentId,
-                author,
+        return new LinkUpdateEvent(
+                LinkUpdateSummary.COMMENT,
+                URI.create(baseUrl + "#comment" + comment.commentId + "_" + comment.commentId),
+                null,
+                comment.owner != null ? comment.owner.displayName : "Unknown",
                 Instant.ofEpochSecond(comment.creationDate),
-                truncate(comment.body, 200));
-    }
-
-    private String truncate(String text, int limit) {
-        return (text == null) ? "No description" : text.length() > limit ? text.substring(0, limit) + "..." : text;
+                LinkUpdateSummary.truncate(comment.body));
     }
 }
@@ -6,12 +6,18 @@ import backend.academy.scrapper.config.ScrapperConfig.AppProperties;
 import backend.academy.scrapper.notification.FailoverNotificationSender;
 import backend.academy.scrapper.notification.HttpNotificationSender;
 import backend.academy.scrapper.notification.KafkaNotificationSender;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +35,23 @@ class FailoverNotificationSenderTest {
     @Mock
     private AppProperties appProperties;
 
-    @InjectMocks
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     private FailoverNotificationSender failoverSender;
 
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        failoverSender = new FailoverNotificationSender(kafkaSender, httpSender, config, circuitBreakerRegistry);
+    }
+
     @Test
     void shouldFallbackToHttpWhenKafkaFails() {
         LinkUpdateRequest request = new LinkUpdateRequest(123L, null, null, null);
@@ -40,11 +60,30 @@ class FailoverNotificationSenderTest {
         when(appProperties.messageTransport()).thenReturn("KAFKA");
 
         doThrow(new RuntimeException("Kafka failure")).when(kafkaSender).sendNotification(request);
+        when(httpSender.sendNotification(request)).thenReturn(CompletableFuture.completedFuture(null));
 
-        failoverSender.sendNotification(request);
+        CompletableFuture<Void> result = failoverSender.sendNotification(request);
 
         verify(kafkaSender).sendNotification(request);
         verify(httpSender).sendNotification(request);
+        assertThat(result).isCompleted();
+    }
+
+    @Test
+    void shouldFallbackToHttpWhenKafkaSendIsNotAcknowledged() {
+        LinkUpdateRequest request = new LinkUpdateRequest(123L, null, null, null);
+
+        when(config.app()).thenReturn(appProperties);
+        when(appProperties.messageTransport()).thenReturn("KAFKA");
+
+        when(kafkaSender.sendNotification(request))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        when(httpSender.sendNotification(request)).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> result = failoverSender.sendNotification(request);
+
+        verify(httpSender).sendNotification(request);
+        assertThat(result).isCompleted();
     }
 
     @Test
@@ -53,6 +92,7 @@ class FailoverNotificationSenderTest {
 
         when(config.app()).thenReturn(appProperties);
         when(appProperties.messageTransport()).thenReturn("KAFKA");
+        when(kafkaSender.sendNotification(request)).thenReturn(CompletableFuture.completedFuture(null));
 
         failoverSender.sendNotification(request);
 
@@ -70,9 +110,49 @@ class FailoverNotificationSenderTest {
         doThrow(new RuntimeException("Kafka failure")).when(kafkaSender).sendNotification(request);
         doThrow(new RuntimeException("Http fallback failure")).when(httpSender).sendNotification(request);
 
-        failoverSender.sendNotification(request);
+        CompletableFuture<Void> result = failoverSender.sendNotification(request);
 
         verify(kafkaSender).sendNotification(request);
         verify(httpSender).sendNotification(request);
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldRouteAllTrafficToFallbackWhileCircuitIsOpen() {
+        LinkUpdateRequest request = new LinkUpdateRequest(123L, null, null, null);
+
+        when(config.app()).thenReturn(appProperties);
+        when(appProperties.messageTransport()).thenReturn("KAFKA");
+        when(kafkaSender.sendNotification(request))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+        when(httpSender.sendNotification(request)).thenReturn(CompletableFuture.completedFuture(null));
+
+        failoverSender.sendNotification(request);
+        failoverSender.sendNotification(request);
+        failoverSender.sendNotification(request);
+
+        assertThat(circuitBreakerRegistry.circuitBreaker("notificationTransport").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        verify(kafkaSender, times(2)).sendNotification(request);
+        verify(httpSender, times(3)).sendNotification(request);
+    }
+
+    @Test
+    void shouldReturnToPrimaryAfterSuccessfulProbe() {
+        LinkUpdateRequest request = new LinkUpdateRequest(123L, null, null, null);
+
+        when(config.app()).thenReturn(appProperties);
+        when(appProperties.messageTransport()).thenReturn("KAFKA");
+        when(kafkaSender.sendNotification(request)).thenReturn(CompletableFuture.completedFuture(null));
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("notificationTransport");
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+
+        failoverSender.sendNotification(request);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        verify(kafkaSender).sendNotification(request);
+        verify(httpSender, never()).sendNotification(any());
     }
 }
@@ -0,0 +1,116 @@
+package backend.academy.scrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.dto.request.LinkUpdateEvent;
+import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.scrapper.client.GitHubClient;
+import backend.academy.scrapper.client.dto.github.GitHubItem;
+import backend.academy.scrapper.client.dto.github.GitHubUser;
+import backend.academy.scrapper.notification.NotificationSender;
+import backend.academy.scrapper.service.link.LinkService;
+import backend.academy.scrapper.service.update.GitHubLinkUpdateHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubLinkUpdateHandlerTest {
+
+    private static final Instant LAST_UPDATED = Instant.parse("2024-01-01T00:00:00Z");
+    private static final LinkResponse LINK =
+            new LinkResponse(7L, URI.create("https://github.com/owner/repo"), Set.of(), Set.of("user:bot"));
+
+    @Mock
+    private GitHubClient gitHubClient;
+
+    @Mock
+    private LinkService linkService;
+
+    @Mock
+    private NotificationSender notificationSender;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private GitHubLinkUpdateHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new GitHubLinkUpdateHandler(gitHubClient, linkService, notificationSender, transactionTemplate);
+        when(linkService.getLastUpdated(LINK.id())).thenReturn(LAST_UPDATED.toString());
+        doAnswer(invocation -> {
+                    invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                    return null;
+                })
+                .when(transactionTemplate)
+                .executeWithoutResult(any());
+    }
+
+    @Test
+    void shouldSendOneSummaryOfAllEventsToEveryChat() {
+        when(gitHubClient.fetchGitHubItems("issues", "owner", "repo", LAST_UPDATED))
+                .thenReturn(Mono.just(List.of(
+                        item("Bug", "alice", "2024-01-02T00:00:00Z", false),
+                        item("Fix", "bob", "2024-01-03T00:00:00Z", true),
+                        item("Noise", "bot", "2024-01-04T00:00:00Z", false))));
+        when(linkService.getChatIdsByLinkId(LINK.id())).thenReturn(List.of(100L, 200L));
+
+        handler.handle(LINK);
+
+        ArgumentCaptor<LinkUpdateRequest> sent = ArgumentCaptor.forClass(LinkUpdateRequest.class);
+        verify(notificationSender).sendNotification(sent.capture());
+        LinkUpdateRequest request = sent.getValue();
+        assertThat(request.tgChatIds()).containsExactly(100L, 200L);
+        assertThat(request.events())
+                .extracting(LinkUpdateEvent::type, LinkUpdateEvent::author)
+                .containsExactly(tuple("ISSUE", "alice"), tuple("PULL_REQUEST", "bob"));
+        assertThat(request.description())
+                .startsWith("📢 Update for: https://github.com/owner/repo (2 new events)")
+                .contains("📝 New Issue: Bug", "🔄 New PR: Fix", "👤 Author: alice")
+                .doesNotContain("Noise");
+        // курсор сдвигается и по отфильтрованным событиям, чтобы не получать их снова
+        verify(linkService).updateLastUpdated(LINK.id(), "2024-01-04T00:00:00Z");
+    }
+
+    @Test
+    void shouldNotNotifyWhenAllEventsAreFiltered() {
+        when(gitHubClient.fetchGitHubItems("issues", "owner", "repo", LAST_UPDATED))
+                .thenReturn(Mono.just(List.of(item("Noise", "bot", "2024-01-05T00:00:00Z", false))));
+
+        handler.handle(LINK);
+
+        verify(notificationSender, never()).sendNotification(any());
+        verify(linkService, never()).getChatIdsByLinkId(any());
+        verify(linkService).updateLastUpdated(LINK.id(), "2024-01-05T00:00:00Z");
+    }
+
+    private static GitHubItem item(String title, String author, String createdAt, boolean pullRequest) {
+        return new GitHubItem()
+                .title(title)
+                .body(title + " body")
+                .user(new GitHubUser().login(author))
+                .createdAt(Instant.parse(createdAt))
+                .url("https://github.com/owner/repo/issues/" + title)
+                .pullRequest(pullRequest ? new ObjectMapper().createObjectNode() : null);
+    }
+}
@@ -0,0 +1,97 @@
+package backend.academy.scrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.scrapper.config.ScrapperConfig;
+import backend.academy.scrapper.notification.HttpNotificationSender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class HttpNotificationSenderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Integer> receivedBatches = new CopyOnWriteArrayList<>();
+
+    private DisposableServer bot;
+    private HttpNotificationSender sender;
+
+    @BeforeEach
+    void startBot() {
+        bot = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/links/batch", (request, response) -> request.receive()
+                        .aggregate()
+                        .asString()
+                        .doOnNext(body -> receivedBatches.add(batchSize(body)))
+                        .then(response.status(HttpResponseStatus.ACCEPTED).send())))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stop() {
+        if (sender != null) {
+            sender.shutdown();
+        }
+        bot.disposeNow();
+    }
+
+    @Test
+    void shouldFlushFullBatchWithoutWaitingForDelay() throws Exception {
+        sender = sender(3, Duration.ofMinutes(1));
+
+        List<CompletableFuture<Void>> acks = LongStream.range(0, 3)
+                .mapToObj(id -> sender.sendNotification(update(id)))
+                .toList();
+
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(receivedBatches).containsExactly(3);
+    }
+
+    @Test
+    void shouldFlushIncompleteBatchAfterDelay() throws Exception {
+        sender = sender(100, Duration.ofMillis(100));
+
+        sender.sendNotification(update(1)).get(5, TimeUnit.SECONDS);
+
+        assertThat(receivedBatches).containsExactly(1);
+    }
+
+    private HttpNotificationSender sender(int batchSize, Duration batchDelay) {
+        ScrapperConfig config = mock(ScrapperConfig.class);
+        when(config.app())
+                .thenReturn(new ScrapperConfig.AppProperties("SQL", "http://localhost:" + bot.port(), "HTTP"));
+        when(config.httpNotification())
+                .thenReturn(new ScrapperConfig.HttpNotificationProperties(
+                        batchSize, batchDelay, 1, 2, "test-scrapper-key"));
+        return new HttpNotificationSender(WebClient.builder(), config);
+    }
+
+    private int batchSize(String body) {
+        try {
+            return objectMapper.readTree(body).size();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Bot received malformed batch: " + body, e);
+        }
+    }
+
+    private static LinkUpdateRequest update(long id) {
+        return new LinkUpdateRequest(id, URI.create("https://github.com/batch/" + id), "update " + id, List.of(100L));
+    }
+}
@@ -0,0 +1,103 @@
+package backend.academy.scrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import backend.academy.dto.response.LinkImportResponse;
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.scrapper.service.link.LinkBulkService;
+import backend.academy.scrapper.service.link.LinkService;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource(
+        properties = {
+            "app.app.access-type=SQL",
+            "spring.jpa.hibernate.ddl-auto=validate",
+            "app.bulk.import-chunk-size=2"
+        })
+class LinkBulkServiceTest extends AbstractIntegrationTest {
+
+    private static final String IMPORT = """
+            {"chatId":901,"link":"https://github.com/bulk/one","tags":["a","b"],"filters":["user:bot"]}
+            {"chatId":901,"link":"https://github.com/bulk/two","tags":[],"filters":[]}
+
+            {"chatId":902,"link":"https://github.com/bulk/one","tags":["a"],"filters":[]}
+            """;
+
+    @Autowired
+    private LinkBulkService linkBulkService;
+
+    @Autowired
+    private LinkService linkService;
+
+    @Test
+    void shouldImportInChunksIdempotentlyAndExportInImportFormat() throws IOException {
+        LinkImportResponse response = linkBulkService.importLinks(stream(IMPORT));
+        assertEquals(new LinkImportResponse(3, 2), response);
+
+        long version = linkService.getLinksVersion(901L);
+        long otherVersion = linkService.getLinksVersion(902L);
+        linkBulkService.importLinks(stream(IMPORT));
+
+        Set<LinkResponse> links = linkService.getLinks(901L);
+        assertEquals(2, links.size());
+        assertEquals(Set.of("a"), linkService.getAllTags(902L));
+        assertEquals(Set.of("a", "b"), linkService.getAllTags(901L));
+        // повторный импорт ничего не добавил, поэтому кэш бота остается действительным
+        assertEquals(version, linkService.getLinksVersion(901L));
+        assertEquals(otherVersion, linkService.getLinksVersion(902L));
+
+        linkBulkService.importLinks(
+                stream("{\"chatId\":902,\"link\":\"https://github.com/bulk/one\",\"tags\":[\"c\"]}"));
+        assertEquals(version, linkService.getLinksVersion(901L));
+        assertEquals(otherVersion + 1, linkService.getLinksVersion(902L));
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        linkBulkService.exportLinks(901L, export);
+        String[] lines = export.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+
+        // выгрузка читается импортом без изменений
+        assertEquals(new LinkImportResponse(2, 1), linkBulkService.importLinks(stream(String.join("\n", lines))));
+    }
+
+    @Test
+    void shouldRejectLineWithoutChat() {
+        IllegalArgumentException error = assertThrows(
+                IllegalArgumentException.class,
+                () -> linkBulkService.importLinks(stream("{\"link\":\"https://github.com/bulk/none\"}")));
+        assertEquals("Import line 1 must contain chatId and link", error.getMessage());
+    }
+
+    @Test
+    void shouldRejectInvalidLinkTagsAndFilters() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> linkBulkService.importLinks(stream("{\"chatId\":903,\"link\":\"ftp://github.com/bulk\"}")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> linkBulkService.importLinks(stream("{\"chatId\":903,\"link\":\"github.com/bulk\"}")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> linkBulkService.importLinks(
+                        stream("{\"chatId\":903,\"link\":\"https://github.com/bulk\",\"tags\":[\"two words\"]}")));
+        IllegalArgumentException error = assertThrows(
+                IllegalArgumentException.class,
+                () -> linkBulkService.importLinks(stream(
+                        "{\"chatId\":903,\"link\":\"https://github.com/bulk\",\"filters\":[\"user=bot\"]}")));
+        assertEquals("Import line 1 has invalid filter: user=bot", error.getMessage());
+    }
+
+    private static ByteArrayInputStream stream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package backend.academy.scrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.scrapper.notification.OutboxRelay;
+import backend.academy.scrapper.service.link.LinkService;
+import backend.academy.scrapper.service.update.LinkUpdateScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"app.app.access-type=SQL", "spring.jpa.hibernate.ddl-auto=validate"})
+class LinksControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LinkService linkService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private OutboxRelay outboxRelay;
+
+    @MockitoBean
+    private LinkUpdateScheduler linkUpdateScheduler;
+
+    @Test
+    void shouldAnswerNotModifiedUntilLinksChange() throws Exception {
+        Long chatId = 301L;
+        linkService.registerChat(chatId);
+        linkService.addLink(chatId, link("https://github.com/etag/one"));
+
+        String etag = mockMvc.perform(get("/links").header("Tg-Chat-Id", chatId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/links").header("Tg-Chat-Id", chatId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        linkService.addLink(chatId, link("https://github.com/etag/two"));
+
+        mockMvc.perform(get("/links").header("Tg-Chat-Id", chatId).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Links-Version", String.valueOf(linkService.getLinksVersion(chatId))));
+    }
+
+    @Test
+    void shouldStreamLinksAsNdjson() throws Exception {
+        Long chatId = 302L;
+        linkService.registerChat(chatId);
+        linkService.addLink(chatId, link("https://github.com/stream/one"));
+        linkService.addLink(chatId, link("https://github.com/stream/two"));
+        long version = linkService.getLinksVersion(chatId);
+
+        MvcResult started = mockMvc.perform(get("/links/stream").header("Tg-Chat-Id", chatId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Links-Version", String.valueOf(version)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<URI> urls = body.lines().map(line -> readLink(line).url()).toList();
+        assertThat(urls)
+                .containsExactly(
+                        URI.create("https://github.com/stream/one"), URI.create("https://github.com/stream/two"));
+
+        mockMvc.perform(get("/links/stream")
+                        .header("Tg-Chat-Id", chatId)
+                        .header("If-None-Match", "\"" + version + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    private LinkResponse readLink(String line) {
+        try {
+            return objectMapper.readValue(line, LinkResponse.class);
+        } catch (Exception e) {
+            throw new AssertionError("Malformed NDJSON line: " + line, e);
+        }
+    }
+
+    private static LinkResponse link(String url) {
+        return new LinkResponse(null, URI.create(url), Set.of(), Set.of());
+    }
+}
@@ -0,0 +1,73 @@
+package backend.academy.scrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.scrapper.service.link.LinkService;
+import jakarta.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource(
+        properties = {
+            "app.app.access-type=ORM",
+            "spring.jpa.hibernate.ddl-auto=validate",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+class ORMLinkQueryCountTest extends AbstractIntegrationTest {
+
+    private static final long SMALL_CHAT = 31L;
+    private static final long LARGE_CHAT = 32L;
+
+    @Autowired
+    private LinkService linkService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seed(SMALL_CHAT, 2);
+        seed(LARGE_CHAT, 12);
+    }
+
+    @Test
+    void shouldRunFixedNumberOfQueriesRegardlessOfListSize() {
+        assertSameQueryCount(chatId -> linkService.getLinks(chatId));
+        assertSameQueryCount(chatId -> linkService.getAllTags(chatId));
+        assertSameQueryCount(chatId -> linkService.getLinksByTags(chatId, Set.of("common")));
+        assertSameQueryCount(chatId -> linkService.getLinksPage(chatId, null, 100));
+        assertSameQueryCount(chatId -> linkService.getLinksByTagsPage(chatId, Set.of("common"), null, 100));
+        assertEquals(queries(() -> linkService.getLinksBatch(0L, 2)), queries(() -> linkService.getLinksBatch(0L, 12)));
+    }
+
+    private void assertSameQueryCount(Consumer<Long> call) {
+        assertEquals(queries(() -> call.accept(SMALL_CHAT)), queries(() -> call.accept(LARGE_CHAT)));
+    }
+
+    private long queries(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(long chatId, int links) {
+        linkService.registerChat(chatId);
+        for (int i = 0; i < links; i++) {
+            URI url = URI.create("https://github.com/n-plus-one/" + chatId + "/" + i);
+            linkService.addLink(chatId, new LinkResponse(null, url, Set.of("common", "tag" + i), Set.of()));
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package backend.academy.scrapper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import backend.academy.dto.response.LinkResponse;
 import backend.academy.scrapper.service.link.LinkService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.net.URI;
 import java.util.Set;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootTest
 @TestPropertySource(
@@ -21,6 +30,12 @@ public class ORMLinkServiceTest extends AbstractIntegrationTest {
     @Autowired
     private LinkService linkService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Test
     void shouldRegisterChat() {
         Long chatId = 1L;
@@ -39,7 +54,8 @@ public class ORMLinkServiceTest extends AbstractIntegrationTest {
         LinkResponse link =
                 new LinkResponse(null, url, Set.of("java", "spring"), Set.of("filter1")); // <-- null вместо id
 
-        linkService.addLink(chatId, link);
+        long addedVersion = linkService.addLink(chatId, link).linksVersion();
+        assertEquals(addedVersion, linkService.getLinksVersion(chatId));
 
         Set<LinkResponse> links = linkService.getLinks(chatId);
         assertEquals(1, links.size());
@@ -48,7 +64,7 @@ public class ORMLinkServiceTest extends AbstractIntegrationTest {
         assertEquals(url, savedLink.url());
         assertTrue(savedLink.tags().containsAll(Set.of("java", "spring")));
 
-        linkService.removeLink(chatId, url);
+        assertEquals(addedVersion + 1, linkService.removeLink(chatId, url));
         assertTrue(linkService.getLinks(chatId).isEmpty());
     }
 
@@ -75,4 +91,61 @@ public class ORMLinkServiceTest extends AbstractIntegrationTest {
         String lastActivityDate = linkService.getLastActivityDate(linkId);
         assertEquals(newLastActivityDate, lastActivityDate);
     }
+
+    @Test
+    void shouldShareTagsBetweenChatsWithPooledIds() {
+        Long chatId = 6L;
+        Long otherChatId = 8L;
+        linkService.registerChat(chatId);
+        linkService.registerChat(otherChatId);
+
+        URI first = URI.create("https://github.com/pooled/first");
+        URI second = URI.create("https://github.com/pooled/second");
+        LinkResponse firstLink = linkService
+                .addLink(chatId, new LinkResponse(null, first, Set.of("a", "b", "c"), Set.of()))
+                .link();
+        LinkResponse secondLink = linkService
+                .addLink(chatId, new LinkResponse(null, second, Set.of("b", "d"), Set.of()))
+                .link();
+        linkService.addLink(otherChatId, new LinkResponse(null, first, Set.of("a", "e"), Set.of()));
+
+        assertNotNull(firstLink.id());
+        assertNotEquals(firstLink.id(), secondLink.id());
+        assertEquals(Set.of("a", "b", "c", "d"), linkService.getAllTags(chatId));
+        assertEquals(Set.of("a", "e"), linkService.getAllTags(otherChatId));
+        assertEquals(Set.of(firstLink.id(), secondLink.id()), ids(linkService.getLinks(chatId)));
+    }
+
+    @Test
+    void shouldSweepLinksAndUpdateCursorsWithoutLoadingEntities() {
+        Long chatId = 10L;
+        linkService.registerChat(chatId);
+        URI url = URI.create("https://github.com/stateless/repo");
+        LinkResponse link = linkService
+                .addLink(chatId, new LinkResponse(null, url, Set.of("sweep"), Set.of()))
+                .link();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<LinkResponse> batch = linkService.getLinksBatch(link.id() - 1, 1);
+            assertEquals(Set.of(link.id()), ids(batch));
+            assertEquals(Set.of("sweep"), batch.iterator().next().tags());
+            linkService.updateLastUpdated(link.id(), "2024-03-01T00:00Z");
+            assertEquals(0, persistenceContext().getEntityCount());
+
+            linkService.getLinks(chatId);
+            assertTrue(persistenceContext().getEntityCount() > 0);
+        });
+
+        assertEquals("2024-03-01T00:00Z", linkService.getLastUpdated(link.id()));
+        assertTrue(linkService.getLinksBatch(link.id(), 10_000).stream().allMatch(next -> next.id() > link.id()));
+        assertThrows(RuntimeException.class, () -> linkService.updateLastActivityDate(-1L, "2024-03-01T00:00Z"));
+    }
+
+    private SessionStatistics persistenceContext() {
+        return entityManager.unwrap(Session.class).getStatistics();
+    }
+
+    private static Set<Long> ids(Set<LinkResponse> links) {
+        return links.stream().map(LinkResponse::id).collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,91 @@
+package backend.academy.scrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import backend.academy.scrapper.domain.jdbc.dao.OutboxDao;
+import backend.academy.scrapper.domain.jdbc.dto.OutboxMessage;
+import backend.academy.scrapper.notification.OutboxRelay;
+import backend.academy.scrapper.service.update.LinkUpdateScheduler;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@SpringBootTest
+class OutboxDaoTest extends AbstractIntegrationTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Autowired
+    private OutboxDao outboxDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // фоновые задачи не должны захватывать строки теста
+    @MockitoBean
+    private OutboxRelay outboxRelay;
+
+    @MockitoBean
+    private LinkUpdateScheduler linkUpdateScheduler;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        jdbcTemplate.update("DELETE FROM notification_outbox_dead_letter");
+    }
+
+    @Test
+    void shouldSkipLeasedRowsUntilLeaseExpires() {
+        outboxDao.save(1L, "{}");
+        outboxDao.save(2L, "{}");
+        outboxDao.save(3L, "{}");
+
+        List<OutboxMessage> first = outboxDao.claimBatch(2, LEASE, 5);
+        List<OutboxMessage> second = outboxDao.claimBatch(2, LEASE, 5);
+
+        assertThat(first).extracting(OutboxMessage::linkId).containsExactly(1L, 2L);
+        assertThat(first).extracting(OutboxMessage::attempts).containsOnly(1);
+        assertThat(second).extracting(OutboxMessage::linkId).containsExactly(3L);
+        assertThat(outboxDao.claimBatch(2, LEASE, 5)).isEmpty();
+
+        jdbcTemplate.update(
+                "UPDATE notification_outbox SET locked_until = now() - interval '1 second' WHERE link_id = 1");
+        assertThat(outboxDao.claimBatch(2, LEASE, 5))
+                .singleElement()
+                .satisfies(message -> {
+                    assertThat(message.linkId()).isEqualTo(1L);
+                    assertThat(message.attempts()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void shouldDeleteAcknowledgedRows() {
+        outboxDao.save(1L, "{}");
+        outboxDao.save(2L, "{}");
+        List<OutboxMessage> claimed = outboxDao.claimBatch(10, LEASE, 5);
+
+        outboxDao.deleteAll(List.of(claimed.getFirst().id()));
+
+        assertThat(outboxDao.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeadLetterRowsThatExhaustedAttempts() {
+        outboxDao.save(1L, "{}");
+        outboxDao.save(2L, "{}");
+        outboxDao.claimBatch(1, Duration.ZERO, 1);
+
+        // второй строке попытки не расходовались, первая больше не выдается
+        assertThat(outboxDao.claimBatch(10, LEASE, 1)).extracting(OutboxMessage::linkId).containsExactly(2L);
+        assertThat(outboxDao.deadLetterExhausted(1)).isEqualTo(1);
+
+        assertThat(outboxDao.countDeadLetters()).isEqualTo(1);
+        // вторая строка еще в аренде, поэтому остается в outbox
+        assertThat(outboxDao.count()).isEqualTo(1);
+    }
+}
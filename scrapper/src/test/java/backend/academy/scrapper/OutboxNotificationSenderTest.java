@@ -0,0 +1,76 @@
+package backend.academy.scrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.scrapper.domain.jdbc.dao.OutboxDao;
+import backend.academy.scrapper.notification.OutboxNotificationSender;
+import backend.academy.scrapper.notification.OutboxRelay;
+import backend.academy.scrapper.service.update.LinkUpdateScheduler;
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class OutboxNotificationSenderTest extends AbstractIntegrationTest {
+
+    private static final LinkUpdateRequest REQUEST =
+            new LinkUpdateRequest(7L, URI.create("https://github.com/outbox/sender"), "update", List.of(5L));
+
+    @Autowired
+    private OutboxNotificationSender sender;
+
+    @Autowired
+    private OutboxDao outboxDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private OutboxRelay outboxRelay;
+
+    @MockitoBean
+    private LinkUpdateScheduler linkUpdateScheduler;
+
+    @BeforeEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+    }
+
+    @Test
+    void shouldStoreNotificationWhenTransactionCommits() {
+        transactionTemplate.executeWithoutResult(status -> sender.sendNotification(REQUEST));
+
+        assertThat(outboxDao.count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT payload FROM notification_outbox", String.class))
+                .contains("https://github.com/outbox/sender");
+    }
+
+    @Test
+    void shouldDiscardNotificationWhenTransactionRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            sender.sendNotification(REQUEST);
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxDao.count()).isZero();
+    }
+
+    @Test
+    void shouldRequireSurroundingTransaction() {
+        assertThatThrownBy(() -> sender.sendNotification(REQUEST))
+                .isInstanceOf(IllegalTransactionStateException.class);
+        assertThat(outboxDao.count()).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package backend.academy.scrapper;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import backend.academy.dto.request.LinkUpdateRequest;
+import backend.academy.scrapper.config.ScrapperConfig;
+import backend.academy.scrapper.domain.jdbc.dao.OutboxDao;
+import backend.academy.scrapper.domain.jdbc.dto.OutboxMessage;
+import backend.academy.scrapper.notification.FailoverNotificationSender;
+import backend.academy.scrapper.notification.OutboxRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private OutboxDao outboxDao;
+
+    @Mock
+    private FailoverNotificationSender transport;
+
+    @Mock
+    private ScrapperConfig config;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(config.outbox())
+                .thenReturn(new ScrapperConfig.OutboxProperties(
+                        10, Duration.ofMillis(200), Duration.ofSeconds(1), MAX_ATTEMPTS));
+        relay = new OutboxRelay(outboxDao, transport, objectMapper, config);
+    }
+
+    @Test
+    void shouldDeleteAcknowledgedMessages() throws Exception {
+        LinkUpdateRequest request = request(1L);
+        when(outboxDao.claimBatch(anyInt(), any(), anyInt())).thenReturn(List.of(message(10L, request)));
+        when(transport.sendNotification(request)).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxDao).deadLetterExhausted(MAX_ATTEMPTS);
+        verify(outboxDao).deleteAll(List.of(10L));
+    }
+
+    @Test
+    void shouldKeepFailedAndUnacknowledgedMessagesForRetry() throws Exception {
+        LinkUpdateRequest failed = request(1L);
+        LinkUpdateRequest hanging = request(2L);
+        LinkUpdateRequest delivered = request(3L);
+        when(outboxDao.claimBatch(anyInt(), any(), anyInt()))
+                .thenReturn(List.of(message(10L, failed), message(11L, hanging), message(12L, delivered)));
+        when(transport.sendNotification(failed))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("bot unavailable")));
+        when(transport.sendNotification(hanging)).thenReturn(new CompletableFuture<>());
+        when(transport.sendNotification(delivered)).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxDao).deleteAll(List.of(12L));
+        verify(outboxDao).deadLetterAll(List.of());
+    }
+
+    @Test
+    void shouldDeadLetterMalformedMessages() {
+        when(outboxDao.claimBatch(anyInt(), any(), anyInt()))
+                .thenReturn(List.of(new OutboxMessage(10L, 1L, "not json", 1)));
+
+        relay.relay();
+
+        verify(transport, never()).sendNotification(any());
+        verify(outboxDao).deadLetterAll(List.of(10L));
+        verify(outboxDao).deleteAll(List.of());
+    }
+
+    private OutboxMessage message(long id, LinkUpdateRequest request) throws Exception {
+        return new OutboxMessage(id, request.id(), objectMapper.writeValueAsString(request), 1);
+    }
+
+    private static LinkUpdateRequest request(long linkId) {
+        return new LinkUpdateRequest(linkId, URI.create("https://github.com/outbox/" + linkId), "update", List.of(5L));
+    }
+}
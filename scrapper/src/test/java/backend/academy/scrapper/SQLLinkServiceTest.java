@@ -1,11 +1,14 @@
 package backend.academy.scrapper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import backend.academy.dto.response.LinkResponse;
 import backend.academy.scrapper.service.link.LinkService;
+import backend.academy.scrapper.service.link.VersionedLink;
 import java.net.URI;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -67,4 +70,89 @@ public class SQLLinkServiceTest extends AbstractIntegrationTest {
         String lastActivityDate = linkService.getLastActivityDate(linkId);
         assertEquals(newLastActivityDate, lastActivityDate);
     }
+
+    @Test
+    void shouldPageLinksByKeysetCursor() {
+        Long chatId = 7L;
+        linkService.registerChat(chatId);
+        for (int i = 0; i < 5; i++) {
+            Set<String> tags = i % 2 == 0 ? Set.of("even") : Set.of("odd");
+            linkService.addLink(
+                    chatId, new LinkResponse(null, URI.create("https://github.com/page/" + i), tags, Set.of()));
+        }
+
+        List<LinkResponse> first = linkService.getLinksPage(chatId, null, 2);
+        List<LinkResponse> second = linkService.getLinksPage(chatId, first.getLast().id(), 2);
+        List<LinkResponse> last = linkService.getLinksPage(chatId, second.getLast().id(), 2);
+
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertEquals(1, last.size());
+        assertTrue(first.getLast().id() < second.getFirst().id());
+
+        List<LinkResponse> even = linkService.getLinksByTagsPage(chatId, Set.of("even"), null, 2);
+        List<LinkResponse> evenTail = linkService.getLinksByTagsPage(chatId, Set.of("even"), even.getLast().id(), 2);
+        assertEquals(2, even.size());
+        assertEquals(1, evenTail.size());
+        assertTrue(evenTail.getFirst().tags().contains("even"));
+    }
+
+    @Test
+    void shouldReturnOnlyChatOwnTagsOfSharedLink() {
+        Long chatId = 13L;
+        Long otherChatId = 14L;
+        linkService.registerChat(chatId);
+        linkService.registerChat(otherChatId);
+
+        URI shared = URI.create("https://github.com/shared/tags");
+        linkService.addLink(chatId, new LinkResponse(null, shared, Set.of("mine"), Set.of()));
+        linkService.addLink(otherChatId, new LinkResponse(null, shared, Set.of("theirs"), Set.of()));
+
+        assertEquals(Set.of("mine"), linkService.getLinksPage(chatId, null, 10).getFirst().tags());
+        assertEquals(
+                Set.of("theirs"),
+                linkService.getLinks(otherChatId).iterator().next().tags());
+        assertEquals(
+                Set.of("mine"),
+                linkService
+                        .getLinksByTagsPage(chatId, Set.of("mine"), null, 10)
+                        .getFirst()
+                        .tags());
+    }
+
+    @Test
+    void shouldKeepSharedLinksAndDropOrphansOnChatDeletion() {
+        Long chatId = 11L;
+        Long otherChatId = 12L;
+        linkService.registerChat(chatId);
+        linkService.registerChat(otherChatId);
+
+        URI shared = URI.create("https://github.com/shared/repo");
+        URI own = URI.create("https://github.com/own/repo");
+        LinkResponse sharedLink = linkService
+                .addLink(chatId, new LinkResponse(null, shared, Set.of("x"), Set.of()))
+                .link();
+        VersionedLink ownLink = linkService.addLink(chatId, new LinkResponse(null, own, Set.of(), Set.of()));
+        assertEquals(ownLink.linksVersion(), linkService.getLinksVersion(chatId));
+
+        // повторное добавление не создает дубликатов
+        VersionedLink repeated = linkService.addLink(chatId, sharedLink);
+        assertEquals(sharedLink.id(), repeated.link().id());
+        assertEquals(2, linkService.getLinks(chatId).size());
+        assertEquals(ownLink.linksVersion() + 1, repeated.linksVersion());
+        assertEquals(repeated.linksVersion(), linkService.getLinksVersion(chatId));
+        assertEquals(
+                sharedLink.id(),
+                linkService
+                        .addLink(otherChatId, new LinkResponse(null, shared, Set.of("y"), Set.of()))
+                        .link()
+                        .id());
+
+        linkService.deleteChat(chatId);
+
+        assertEquals(List.of(otherChatId), linkService.getChatIdsByLinkId(sharedLink.id()));
+        assertEquals(Set.of("y"), linkService.getAllTags(otherChatId));
+        assertThrows(IllegalArgumentException.class, () -> linkService.getLastUpdated(ownLink.link().id()));
+        assertThrows(IllegalArgumentException.class, () -> linkService.removeLink(otherChatId, own));
+    }
 }
@@ -0,0 +1,116 @@
+package backend.academy.scrapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import backend.academy.dto.response.LinkResponse;
+import backend.academy.dto.rpc.RpcCodec;
+import backend.academy.dto.rpc.RpcFrame;
+import backend.academy.dto.rpc.RpcRequest;
+import backend.academy.dto.rpc.RpcResponse;
+import backend.academy.scrapper.rpc.ScrapperRpcServer;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.netty.Connection;
+import reactor.netty.tcp.TcpClient;
+
+@SpringBootTest
+@TestPropertySource(
+        properties = {
+            "app.app.access-type=SQL",
+            "spring.jpa.hibernate.ddl-auto=validate",
+            "app.rpc.enabled=true",
+            "app.rpc.port=0"
+        })
+class ScrapperRpcServerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ScrapperRpcServer server;
+
+    @Test
+    void shouldServePipelinedCallsOverOneConnection() {
+        Long chatId = 44L;
+        URI url = URI.create("https://github.com/user/rpc");
+        List<RpcRequest> requests = List.of(
+                new RpcRequest.RegisterChat(chatId),
+                new RpcRequest.AddLink(chatId, url, Set.of("rpc"), Set.of()),
+                new RpcRequest.GetTags(chatId),
+                new RpcRequest.RemoveLink(chatId, URI.create("https://github.com/user/missing")));
+
+        Map<Integer, RpcResponse> responses = call(requests.subList(0, 1));
+        assertInstanceOf(RpcResponse.Done.class, responses.get(1));
+
+        // добавление, чтение тегов и ошибочное удаление уходят одним пакетом и ждут ответов по идентификаторам
+        responses = call(requests.subList(1, 4));
+        RpcResponse.Link added = assertInstanceOf(RpcResponse.Link.class, responses.get(1));
+        assertEquals(url, added.link().url());
+        assertTrue(added.version() > 0);
+        assertInstanceOf(RpcResponse.Failure.class, responses.get(3));
+
+        RpcResponse.Links links = assertInstanceOf(
+                RpcResponse.Links.class, call(List.of(new RpcRequest.GetLinks(chatId))).get(1));
+        assertEquals(added.version(), links.version());
+        assertEquals(List.of(url), links.links().stream().map(LinkResponse::url).toList());
+    }
+
+    @Test
+    void shouldAnswerMalformedFrameWithoutClosingConnection() {
+        byte[] valid = RpcCodec.encodeRequest(2, new RpcRequest.GetTags(45L));
+        // заголовок с идентификатором 1 и неизвестным типом запроса
+        byte[] malformed = {2, 0, 0, 0, 1, 42};
+        // кадр без читаемого заголовка пропускается
+        byte[] garbage = {7};
+
+        Map<Integer, RpcResponse> responses = exchange(List.of(garbage, malformed, valid), 2);
+
+        assertInstanceOf(RpcResponse.Failure.class, responses.get(1));
+        assertInstanceOf(RpcResponse.Tags.class, responses.get(2));
+    }
+
+    private Map<Integer, RpcResponse> call(List<RpcRequest> requests) {
+        List<byte[]> frames = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            frames.add(RpcCodec.encodeRequest(i + 1, requests.get(i)));
+        }
+        return exchange(frames, requests.size());
+    }
+
+    private Map<Integer, RpcResponse> exchange(List<byte[]> frames, int expectedResponses) {
+        Connection connection = TcpClient.create()
+                .host("localhost")
+                .port(server.port())
+                .doOnConnected(conn -> conn.addHandlerLast(new LengthFieldBasedFrameDecoder(
+                                RpcCodec.MAX_FRAME_SIZE,
+                                0,
+                                RpcCodec.LENGTH_FIELD_SIZE,
+                                0,
+                                RpcCodec.LENGTH_FIELD_SIZE))
+                        .addHandlerLast(new LengthFieldPrepender(RpcCodec.LENGTH_FIELD_SIZE)))
+                .connectNow();
+        try {
+            connection.outbound().sendByteArray(Flux.fromIterable(frames)).then().subscribe();
+            return connection
+                    .inbound()
+                    .receive()
+                    .asByteArray()
+                    .map(RpcCodec::decodeResponse)
+                    .take(expectedResponses)
+                    .collectMap(RpcFrame::streamId, RpcFrame::message)
+                    .block(Duration.ofSeconds(10));
+        } finally {
+            connection.disposeNow();
+        }
+    }
+}